@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+import io.github.dennisochulor.playwright_java_multithread.BrowserContextLease;
+import io.github.dennisochulor.playwright_java_multithread.PageLease;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightExecutorService;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThread;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadFactory;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadOptions;
+
+/**
+ * Measures the throughput of creating {@link BrowserContext}s and {@link Page}s on a running {@link PlaywrightThread}, with and without
+ * the context and page pools, as well as the overhead of an empty task of a {@link PlaywrightExecutorService}. As Playwright objects may only
+ * be used by their own thread, every operation is submitted to a single thread and includes the hand-off, which {@link #emptyTask()} measures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextBenchmark {
+	
+	private PlaywrightExecutorService executor;
+	
+	@Setup
+	public void setup() {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setContextPoolSize(1).setPagePoolSize(1);
+		executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(), new LaunchOptions(), options));
+	}
+	
+	@TearDown
+	public void close() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Benchmark
+	public void emptyTask() throws InterruptedException, ExecutionException {
+		executor.submit(() -> {}).get();
+	}
+	
+	@Benchmark
+	public void newContext() throws InterruptedException, ExecutionException {
+		executor.submit(() -> {
+			BrowserContext context = thread().chromium().newContext();
+			page(context).url();
+			context.close();
+		}).get();
+	}
+	
+	@Benchmark
+	public void leaseContext() throws InterruptedException, ExecutionException {
+		executor.submit(() -> {
+			PlaywrightThread t = thread();
+			try(BrowserContextLease lease = t.leaseContext(t.chromium())) {
+				page(lease.context()).url();
+			}
+		}).get();
+	}
+	
+	@Benchmark
+	public void newPage() throws InterruptedException, ExecutionException {
+		executor.submit(() -> {
+			Page page = thread().chromium().newPage();
+			page.close();
+		}).get();
+	}
+	
+	@Benchmark
+	public void leasePage() throws InterruptedException, ExecutionException {
+		executor.submit(() -> {
+			PlaywrightThread t = thread();
+			try(PageLease lease = t.leasePage(t.chromium())) {
+				lease.page().url();
+			}
+		}).get();
+	}
+	
+	private static PlaywrightThread thread() {
+		return (PlaywrightThread) Thread.currentThread();
+	}
+	
+	/**
+	 * Returns a page of the given context, opening one if it has none, so that both context benchmarks end with a usable page:
+	 * a new context has no pages, whereas a pooled context keeps its first page across leases.
+	 */
+	private static Page page(BrowserContext context) {
+		List<Page> pages = context.pages();
+		return pages.isEmpty() ? context.newPage() : pages.get(0);
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread.benchmarks;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThread;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadFactory;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadInitPackage;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadOptions;
+
+/**
+ * Measures the cost of {@link ThreadFactory#newThread(Runnable)} itself, i.e. constructing a {@link PlaywrightThread} without initialising it,
+ * for the built-in factories, {@link PlaywrightThreadFactory#ofCustom(Class) custom} ones and
+ * {@link PlaywrightThreadFactory#ofSupplier(java.util.function.Supplier) supplied} ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+	
+	private static final Runnable NOOP = () -> {};
+	
+	private ThreadFactory internal;
+	private ThreadFactory custom;
+	private ThreadFactory supplier;
+	
+	@Setup
+	public void setup() {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setDeferredInit(true);  // the threads are never started
+		internal = PlaywrightThreadFactory.ofChromium(new CreateOptions(), new LaunchOptions(), options);
+		custom = PlaywrightThreadFactory.ofCustom(NoopPlaywrightThread.class, options);
+		supplier = PlaywrightThreadFactory.ofSupplier(() -> { throw new UnsupportedOperationException(); }, options);
+	}
+	
+	@Benchmark
+	public Thread internalFactory() {
+		return internal.newThread(NOOP);
+	}
+	
+	@Benchmark
+	public Thread customFactory() {
+		return custom.newThread(NOOP);
+	}
+	
+	@Benchmark
+	public Thread supplierFactory() {
+		return supplier.newThread(NOOP);
+	}
+	
+	public static final class NoopPlaywrightThread extends PlaywrightThread {
+		
+		public NoopPlaywrightThread(Runnable r) {
+			super(r);
+		}
+		
+		@Override
+		protected PlaywrightThreadInitPackage init() {
+			throw new UnsupportedOperationException();
+		}
+		
+	}
+
+}
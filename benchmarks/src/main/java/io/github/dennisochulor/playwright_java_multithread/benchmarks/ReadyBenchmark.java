@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread.benchmarks;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadFactory;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadOptions;
+
+/**
+ * Measures the time until a new {@link io.github.dennisochulor.playwright_java_multithread.PlaywrightThread PlaywrightThread} is ready,
+ * i.e. until its Playwright driver is running and its browser is launched, per browser type. Each thread is started and terminated
+ * outside of the measurement so that its browser is closed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReadyBenchmark {
+	
+	@Param({ "chromium", "firefox", "webkit" })
+	public String browser;
+	
+	@Param({ "false", "true" })
+	public boolean lazyLaunch;
+	
+	private ThreadFactory factory;
+	private Thread thread;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setLazyLaunch(lazyLaunch);
+		switch(browser) {
+			case "chromium": factory = PlaywrightThreadFactory.ofChromium(new CreateOptions(), new LaunchOptions(), options); break;
+			case "firefox": factory = PlaywrightThreadFactory.ofFirefox(new CreateOptions(), new LaunchOptions(), options); break;
+			case "webkit": factory = PlaywrightThreadFactory.ofWebkit(new CreateOptions(), new LaunchOptions(), options); break;
+			default: throw new IllegalArgumentException(browser);
+		}
+	}
+	
+	@Benchmark
+	public Thread timeToReady() {
+		thread = factory.newThread(null);  // initialises the thread
+		return thread;
+	}
+	
+	@TearDown(Level.Iteration)
+	public void close() throws InterruptedException {
+		if(thread != null) {
+			thread.start();  // closes the browser and Playwright when it terminates
+			thread.join();
+			thread = null;
+		}
+	}
+
+}
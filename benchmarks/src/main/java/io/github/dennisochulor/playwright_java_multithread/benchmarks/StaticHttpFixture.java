@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local static HTTP server serving a small page with a stylesheet and a script, so that end-to-end benchmarks do not depend on the network.
+ */
+final class StaticHttpFixture implements AutoCloseable {
+	
+	private static final Map<String, String[]> FILES = new HashMap<>();
+	static {
+		FILES.put("/", new String[] { "text/html", "<!DOCTYPE html><html><head><title>fixture</title><link rel=\"stylesheet\" href=\"/style.css\">"
+				+ "<script src=\"/app.js\"></script></head><body><h1>fixture</h1><ul id=\"items\"></ul></body></html>" });
+		FILES.put("/style.css", new String[] { "text/css", "body { font-family: sans-serif; } li { margin: 2px; }" });
+		FILES.put("/app.js", new String[] { "application/javascript", "addEventListener('DOMContentLoaded', () => { const ul = document.getElementById('items');"
+				+ " for (let i = 0; i < 100; i++) { const li = document.createElement('li'); li.textContent = 'item ' + i; ul.appendChild(li); } });" });
+	}
+	
+	private final HttpServer server;
+	
+	StaticHttpFixture() {
+		try {
+			server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		server.createContext("/", this::handle);
+		server.setExecutor(Executors.newCachedThreadPool(r -> {
+			Thread t = new Thread(r, "StaticHttpFixture");
+			t.setDaemon(true);
+			return t;
+		}));
+		server.start();
+	}
+	
+	/**
+	 * Returns the URL of the page of this fixture.
+	 */
+	String url() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+	}
+	
+	private void handle(HttpExchange exchange) throws IOException {
+		String[] file = FILES.get(exchange.getRequestURI().getPath());
+		if(file == null) {
+			exchange.sendResponseHeaders(404, -1);
+			exchange.close();
+			return;
+		}
+		byte[] body = file[1].getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", file[0] + "; charset=utf-8");
+		exchange.sendResponseHeaders(200, body.length);
+		try(OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+	
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+}
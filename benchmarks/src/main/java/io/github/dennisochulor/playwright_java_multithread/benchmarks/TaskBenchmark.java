@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+import io.github.dennisochulor.playwright_java_multithread.PageLease;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightExecutorService;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThread;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadFactory;
+import io.github.dennisochulor.playwright_java_multithread.PlaywrightThreadOptions;
+
+/**
+ * Measures end-to-end tasks per second of a {@link PlaywrightExecutorService}, where each task loads the page of a local
+ * {@link StaticHttpFixture} and reads its title, for different pool sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskBenchmark {
+	
+	private static final int BATCH = 32;
+	
+	@Param({ "1", "2", "4", "8" })
+	public int threads;
+	
+	@Param({ "false", "true" })
+	public boolean pooled;
+	
+	private StaticHttpFixture fixture;
+	private PlaywrightExecutorService executor;
+	
+	@Setup
+	public void setup() throws InterruptedException {
+		fixture = new StaticHttpFixture();
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setPagePoolSize(pooled ? 1 : 0);
+		executor = new PlaywrightExecutorService(threads, PlaywrightThreadFactory.ofChromium(new CreateOptions(), new LaunchOptions(), options));
+		executor.awaitReady(5, TimeUnit.MINUTES);
+	}
+	
+	@TearDown
+	public void close() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		fixture.close();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int tasks() throws InterruptedException, ExecutionException {
+		String url = fixture.url();
+		List<Future<String>> futures = new ArrayList<>(BATCH);
+		for(int i = 0; i < BATCH; i++) {
+			futures.add(executor.submit(() -> {
+				PlaywrightThread t = (PlaywrightThread) Thread.currentThread();
+				try(PageLease lease = t.leasePage(t.chromium())) {
+					lease.page().navigate(url);
+					return lease.page().title();
+				}
+			}));
+		}
+		int length = 0;
+		for(Future<String> future : futures) {
+			length += future.get().length();
+		}
+		return length;
+	}
+
+}
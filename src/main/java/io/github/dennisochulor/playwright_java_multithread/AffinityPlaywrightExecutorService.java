@@ -0,0 +1,402 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 
+ * This class is a fixed-size pool of {@link PlaywrightThread}s in which each thread has its own task queue, and tasks that carry the 
+ * same affinity key run on the same thread. Tasks for the same site or user session thereby find a warm HTTP cache, reusable contexts
+ * and established connections, which a {@link java.util.concurrent.ThreadPoolExecutor ThreadPoolExecutor} scatters across its threads.
+ * For example:
+ * 
+ * <pre>
+ * AffinityPlaywrightExecutorService executor = new AffinityPlaywrightExecutorService(8, PlaywrightThreadFactory.ofChromium());
+ * CompletableFuture&lt;String&gt; title = executor.supply("example.com", t -&gt; {
+ *     Page page = t.chromium().newPage();
+ *     page.navigate("https://example.com");
+ *     return page.title();
+ * });
+ * </pre>
+ * 
+ * Keys are mapped to threads by consistent hashing. To keep the load balanced, a thread whose queue is empty steals the most recently
+ * queued task of the thread with the longest backlog, provided that backlog has reached {@link #setStealThreshold(int) stealThreshold}
+ * tasks. Tasks without a key, e.g. those of {@link #execute(Runnable)}, go to the thread with the shortest queue. <br><br>
+ * The threads are started concurrently when the pool is constructed. {@link PlaywrightThreadOptions#setTaskTimeout(Duration) Task timeouts},
+ * crash recovery and browser recycling apply to the tasks of this pool as they do to those of a {@link PlaywrightExecutorService}.
+ * 
+ * @see PlaywrightExecutorService
+ *
+ */
+public class AffinityPlaywrightExecutorService extends AbstractExecutorService {
+	
+	private static final int VIRTUAL_NODES = 64;  // ring positions per thread, which evens out the share of keys of each thread
+	private static final long STEAL_INTERVAL_MILLIS = 50;
+	private static final int RUNNING = 0, SHUTDOWN = 1, STOP = 2;
+	
+	private final List<Worker> workers;
+	private final NavigableMap<Integer, Worker> ring = new TreeMap<>();
+	private final CountDownLatch terminated;
+	private final AtomicInteger state = new AtomicInteger(RUNNING);
+	private final AtomicLong steals = new AtomicLong();
+	private volatile int stealThreshold = 2;
+	
+	/**
+	 * Constructs an {@link AffinityPlaywrightExecutorService} with a fixed number of threads and starts all of them concurrently.
+	 * @param nThreads The number of threads in the pool.
+	 * @param threadFactory A {@link ThreadFactory} that produces {@link PlaywrightThread}s, typically obtained via {@link PlaywrightThreadFactory}.
+	 * @throws IllegalArgumentException If {@code nThreads <= 0}, or {@code threadFactory} does not produce {@link PlaywrightThread}s.
+	 * @throws NullPointerException If {@code threadFactory} is {@code null}.
+	 * @throws RuntimeException If a thread cannot be created, e.g. because its initialisation failed. The threads that were created 
+	 * are closed again.
+	 */
+	public AffinityPlaywrightExecutorService(int nThreads, ThreadFactory threadFactory) {
+		if(nThreads <= 0) throw new IllegalArgumentException("nThreads must be positive!");
+		Objects.requireNonNull(threadFactory, "threadFactory");
+		
+		List<Worker> workers = new ArrayList<>(nThreads);
+		List<CompletableFuture<PlaywrightThread>> created = new ArrayList<>(nThreads);
+		for(int i = 0; i < nThreads; i++) {
+			Worker worker = new Worker();
+			workers.add(worker);
+			CompletableFuture<PlaywrightThread> future = new CompletableFuture<>();
+			created.add(future);
+			Thread starter = new Thread(() -> {
+				try {
+					future.complete(newThread(threadFactory, worker));
+				}
+				catch(Throwable t) {
+					future.completeExceptionally(t);
+				}
+			}, "AffinityPlaywrightExecutorService-starter-" + i);
+			starter.setDaemon(true);
+			starter.start();
+		}
+		this.workers = Collections.unmodifiableList(workers);
+		this.terminated = new CountDownLatch(nThreads);
+		
+		RuntimeException failure = null;
+		for(int i = 0; i < nThreads; i++) {
+			try {
+				workers.get(i).thread = created.get(i).join();
+			}
+			catch(CompletionException e) {
+				Throwable cause = e.getCause();
+				if(failure == null) failure = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+				else failure.addSuppressed(cause);
+				terminated.countDown();
+			}
+		}
+		if(failure != null) {
+			state.set(STOP);
+			for(Worker worker : workers) {
+				if(worker.thread != null) worker.thread.start();  // exits right away and closes its browsers
+			}
+			throw failure;
+		}
+		
+		for(int i = 0; i < nThreads; i++) {
+			for(int v = 0; v < VIRTUAL_NODES; v++) {
+				ring.put(mix(i * VIRTUAL_NODES + v), workers.get(i));
+			}
+			workers.get(i).thread.start();
+		}
+	}
+	
+	private static PlaywrightThread newThread(ThreadFactory threadFactory, Runnable worker) {
+		Thread t = threadFactory.newThread(worker);
+		if(!(t instanceof PlaywrightThread)) {
+			throw new IllegalArgumentException("threadFactory must produce PlaywrightThreads! Received " + t.getClass().getName() + " instead.");
+		}
+		return (PlaywrightThread) t;
+	}
+	
+	/**
+	 * Sets the number of queued tasks a thread must have before idle threads steal its tasks. A higher threshold keeps more tasks 
+	 * on the thread of their key, a lower one balances the load sooner. Defaults to {@code 2}.
+	 * @param stealThreshold The minimum backlog for stealing.
+	 * @return This {@link AffinityPlaywrightExecutorService}
+	 * @throws IllegalArgumentException If {@code stealThreshold <= 0}.
+	 */
+	public AffinityPlaywrightExecutorService setStealThreshold(int stealThreshold) {
+		if(stealThreshold <= 0) throw new IllegalArgumentException("stealThreshold must be positive!");
+		this.stealThreshold = stealThreshold;
+		return this;
+	}
+	
+	/**
+	 * Returns how many tasks were run by a thread other than the one their key maps to.
+	 * @return The number of stolen tasks.
+	 */
+	public long steals() {
+		return steals.get();
+	}
+	
+	/**
+	 * Returns the thread that tasks with the given key run on, unless they are stolen.
+	 * @param key The affinity key
+	 * @return The {@link PlaywrightThread} of the key.
+	 * @throws NullPointerException If {@code key} is {@code null}.
+	 */
+	public PlaywrightThread threadOf(Object key) {
+		return workerOf(key).thread;
+	}
+	
+	/**
+	 * Executes the given task on the thread of the given key.
+	 * @param key The affinity key, e.g. a host name or session id.
+	 * @param task The task.
+	 * @throws RejectedExecutionException If this executor is shut down.
+	 * @throws NullPointerException If {@code key} or {@code task} is {@code null}.
+	 */
+	public void execute(Object key, Runnable task) {
+		enqueue(workerOf(key), Objects.requireNonNull(task, "task"));
+	}
+	
+	/**
+	 * Submits the given task for execution on the thread of the given key.
+	 * @param key The affinity key, e.g. a host name or session id.
+	 * @param task The task.
+	 * @return A {@link Future} representing the pending completion of the task.
+	 * @throws RejectedExecutionException If this executor is shut down.
+	 * @throws NullPointerException If {@code key} or {@code task} is {@code null}.
+	 */
+	public Future<?> submit(Object key, Runnable task) {
+		return submit(key, Executors.callable(Objects.requireNonNull(task, "task")));
+	}
+	
+	/**
+	 * Submits the given task for execution on the thread of the given key.
+	 * @param <T> The type of the task's result.
+	 * @param key The affinity key, e.g. a host name or session id.
+	 * @param task The task.
+	 * @return A {@link Future} representing the pending completion of the task.
+	 * @throws RejectedExecutionException If this executor is shut down.
+	 * @throws NullPointerException If {@code key} or {@code task} is {@code null}.
+	 */
+	public <T> Future<T> submit(Object key, Callable<T> task) {
+		RunnableFuture<T> future = newTaskFor(Objects.requireNonNull(task, "task"));
+		execute(key, future);
+		return future;
+	}
+	
+	/**
+	 * Submits a task that is given the {@link PlaywrightThread} running it for execution on the thread of the given key. 
+	 * See {@link PlaywrightExecutorService#supply(Function)} for details.
+	 * @param <T> The type of the task's result.
+	 * @param key The affinity key, e.g. a host name or session id.
+	 * @param task The task.
+	 * @return A {@link CompletableFuture} that completes with the result of the task.
+	 * @throws RejectedExecutionException If this executor is shut down.
+	 * @throws NullPointerException If {@code key} or {@code task} is {@code null}.
+	 */
+	public <T> CompletableFuture<T> supply(Object key, Function<? super PlaywrightThread, ? extends T> task) {
+		Objects.requireNonNull(task, "task");
+		CompletableFuture<T> future = new CompletableFuture<>();
+		execute(key, new PlaywrightExecutorService.CompletingTask<>(task, future));
+		return future;
+	}
+	
+	/**
+	 * Executes the given task on the thread with the shortest queue.
+	 * @param task The task.
+	 * @throws RejectedExecutionException If this executor is shut down.
+	 * @throws NullPointerException If {@code task} is {@code null}.
+	 */
+	@Override
+	public void execute(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		Worker shortest = workers.get(0);
+		for(Worker worker : workers) {
+			if(worker.queue.size() < shortest.queue.size()) shortest = worker;
+		}
+		enqueue(shortest, task);
+	}
+	
+	private Worker workerOf(Object key) {
+		Map.Entry<Integer, Worker> entry = ring.ceilingEntry(mix(Objects.requireNonNull(key, "key").hashCode()));
+		return (entry != null ? entry : ring.firstEntry()).getValue();
+	}
+	
+	private void enqueue(Worker worker, Runnable task) {
+		if(state.get() != RUNNING) throw new RejectedExecutionException("AffinityPlaywrightExecutorService is shut down.");
+		worker.queue.addLast(task);
+		if(state.get() != RUNNING && worker.queue.removeLastOccurrence(task)) {
+			throw new RejectedExecutionException("AffinityPlaywrightExecutorService is shut down.");
+		}
+	}
+	
+	/**
+	 * Spreads the bits of a hash code, as neighbouring keys and ring positions often have similar hash codes (MurmurHash3 finaliser).
+	 */
+	private static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+	
+	/**
+	 * Takes the most recently queued task of the thread with the longest backlog, if that backlog has reached the steal threshold. 
+	 * During shutdown, any queued task is taken so that the queues drain.
+	 */
+	private Runnable steal(Worker thief) {
+		Worker victim = null;
+		for(Worker worker : workers) {
+			if(worker != thief && (victim == null || worker.queue.size() > victim.queue.size())) victim = worker;
+		}
+		int threshold = state.get() == RUNNING ? stealThreshold : 1;
+		if(victim == null || victim.queue.size() < threshold) return null;
+		Runnable task = victim.queue.pollLast();
+		if(task != null) steals.incrementAndGet();
+		return task;
+	}
+	
+	private boolean queuesEmpty() {
+		for(Worker worker : workers) {
+			if(!worker.queue.isEmpty()) return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public void shutdown() {
+		state.compareAndSet(RUNNING, SHUTDOWN);
+	}
+	
+	/**
+	 * {@inheritDoc} The {@link CompletableFuture}s of tasks submitted via {@link #supply(Object, Function)} that never commenced 
+	 * execution are cancelled, so that their callers do not wait forever.
+	 */
+	@Override
+	public List<Runnable> shutdownNow() {
+		state.set(STOP);
+		List<Runnable> tasks = new ArrayList<>();
+		for(Worker worker : workers) {
+			worker.queue.drainTo(tasks);
+			worker.thread.interrupt();
+		}
+		for(Runnable task : tasks) {
+			if(task instanceof PlaywrightExecutorService.CompletingTask) ((PlaywrightExecutorService.CompletingTask<?>) task).cancel();
+		}
+		return tasks;
+	}
+	
+	@Override
+	public boolean isShutdown() {
+		return state.get() != RUNNING;
+	}
+	
+	@Override
+	public boolean isTerminated() {
+		return terminated.getCount() == 0;
+	}
+	
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return terminated.await(timeout, unit);
+	}
+	
+	
+	/**
+	 * The task loop of one {@link PlaywrightThread} of this pool.
+	 */
+	private final class Worker implements Runnable {
+		
+		final LinkedBlockingDeque<Runnable> queue = new LinkedBlockingDeque<>();
+		volatile PlaywrightThread thread;
+		
+		@Override
+		public void run() {
+			try {
+				while(state.get() != STOP) {
+					Runnable task = queue.pollFirst();
+					if(task == null) task = steal(this);
+					if(task == null) {
+						if(state.get() == SHUTDOWN && queuesEmpty()) break;
+						try {
+							task = queue.pollFirst(STEAL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+						}
+						catch(InterruptedException e) {
+							continue;  // shutdownNow
+						}
+						if(task == null) continue;
+					}
+					runTask(task);
+				}
+			}
+			finally {
+				terminated.countDown();
+			}
+		}
+		
+		private void runTask(Runnable task) {
+			Thread.interrupted();  // an interrupt of the previous task must not leak into this one
+			thread.beforeTask();
+			Duration timeout = thread.options().taskTimeout;
+			if(timeout != null) thread.watch(PlaywrightExecutorService.expiry(task, timeout));
+			boolean failed = true;
+			try {
+				task.run();
+				failed = PlaywrightExecutorService.failed(task);
+			}
+			catch(RuntimeException | Error e) {
+				// tasks of execute(Runnable) report their failures via the thread's uncaught exception handler
+				Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+				handler.uncaughtException(thread, e);
+			}
+			finally {
+				thread.afterTask(failed);
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+
+/**
+ * 
+ * This class represents a {@link BrowserContext} leased from the context pool of a {@link PlaywrightThread}. Closing the lease returns
+ * the {@link BrowserContext} to the pool, where it is reset for the next lease instead of being closed. Leases are obtained via 
+ * {@link PlaywrightThread#leaseContext(Browser)} and are intended to be used with try-with-resources:
+ * 
+ * <pre>
+ * try(BrowserContextLease lease = playwrightThread.leaseContext(playwrightThread.chromium())) {
+ *     Page page = lease.context().newPage();
+ *     ...
+ * }
+ * </pre>
+ * 
+ * The reset clears cookies, permissions and the storage of the origins visited during the lease, but it cannot undo 
+ * {@code route}, {@code addInitScript}, {@code exposeBinding}, {@code exposeFunction} or {@code setExtraHTTPHeaders} calls on the
+ * {@link BrowserContext} itself. Such calls should be made on its pages instead, which are closed by the reset, or the context 
+ * should not be pooled.
+ * 
+ * @see PlaywrightThreadOptions#setContextPoolSize(int)
+ *
+ */
+public final class BrowserContextLease implements AutoCloseable {
+	
+	private final PlaywrightThread thread;
+	private final BrowserSlot slot;
+	private final Browser browser;
+	private final BrowserContext context;
+	private boolean closed;
+	
+	BrowserContextLease(PlaywrightThread thread, BrowserSlot slot, Browser browser, BrowserContext context) {
+		this.thread = thread;
+		this.slot = slot;
+		this.browser = browser;
+		this.context = context;
+	}
+	
+	/**
+	 * Returns the leased {@link BrowserContext}. It must not be closed directly, close this lease instead.
+	 * @return The leased {@link BrowserContext}
+	 * @throws IllegalStateException If this lease is closed.
+	 */
+	public BrowserContext context() {
+		if(closed) throw new IllegalStateException("This BrowserContextLease is closed.");
+		return context;
+	}
+	
+	/**
+	 * Returns the leased {@link BrowserContext} to the context pool of its {@link PlaywrightThread}. Does nothing if this lease is 
+	 * already closed.
+	 * @throws IllegalStateException If not called by the {@link PlaywrightThread} which owns the {@link BrowserContext}.
+	 * @throws RuntimeException If the {@link PlaywrightThreadOptions#setContextReset(java.util.function.Consumer) contextReset} fails 
+	 * with an exception other than a {@link com.microsoft.playwright.PlaywrightException PlaywrightException}. The context is closed anyway.
+	 */
+	@Override
+	public void close() {
+		if(closed) return;
+		thread.checkOwner();
+		closed = true;
+		if(slot.browser() == browser) {
+			slot.contexts().release(context, thread.options());
+		}
+		else {  // the browser was closed or replaced since the lease began
+			ContextPool.closeQuietly(context);
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+/**
+ * 
+ * This class runs mixed Chromium, Firefox and Webkit workloads on independently sized sub-pools of {@link PlaywrightThread}s that 
+ * each utilise only one browser, instead of on threads that all carry all three browsers. Each task declares the browser it needs
+ * and is routed to the matching sub-pool. For example:
+ * 
+ * <pre>
+ * BrowserRoutingExecutorService executor = new BrowserRoutingExecutorService(8, 2, 0);  // no Webkit threads
+ * Future&lt;String&gt; title = executor.submit(BrowserKind.FIREFOX, () -&gt; {
+ *     PlaywrightThread t = (PlaywrightThread) Thread.currentThread();
+ *     Page page = t.firefox().newPage();
+ *     page.navigate("https://playwright.dev");
+ *     return page.title();
+ * });
+ * </pre>
+ * 
+ * Each sub-pool is a {@link PlaywrightExecutorService}, which is available via {@link #executor(BrowserKind)} for everything that is not
+ * routed by this class, e.g. {@code invokeAll}.
+ * 
+ * @see PlaywrightExecutorService
+ *
+ */
+public class BrowserRoutingExecutorService {
+	
+	private static final long CLOSE_TIMEOUT_SECONDS = 30;
+	
+	private final Map<BrowserKind, PlaywrightExecutorService> pools = new EnumMap<>(BrowserKind.class);
+	
+	/**
+	 * Constructs a {@link BrowserRoutingExecutorService} with the given number of threads per browser and default configurations.
+	 * @param chromiumThreads The number of Chromium threads, {@code 0} if Chromium is not used.
+	 * @param firefoxThreads The number of Firefox threads, {@code 0} if Firefox is not used.
+	 * @param webkitThreads The number of Webkit threads, {@code 0} if Webkit is not used.
+	 * @throws IllegalArgumentException If any number of threads is negative, or all are {@code 0}.
+	 */
+	public BrowserRoutingExecutorService(int chromiumThreads, int firefoxThreads, int webkitThreads) {
+		this(new CreateOptions(), new LaunchOptions(), new PlaywrightThreadOptions(), chromiumThreads, firefoxThreads, webkitThreads);
+	}
+	
+	/**
+	 * Constructs a {@link BrowserRoutingExecutorService} with the given number of threads per browser and the given configuration options,
+	 * which apply to all sub-pools.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param launchOptions The {@link LaunchOptions} for {@link com.microsoft.playwright.BrowserType#launch() BrowserType.launch(LaunchOptions)}
+	 * @param options The {@link PlaywrightThreadOptions} for the {@link PlaywrightThread}s
+	 * @param chromiumThreads The number of Chromium threads, {@code 0} if Chromium is not used.
+	 * @param firefoxThreads The number of Firefox threads, {@code 0} if Firefox is not used.
+	 * @param webkitThreads The number of Webkit threads, {@code 0} if Webkit is not used.
+	 * @throws NullPointerException If {@code createOptions}, {@code launchOptions} or {@code options} is {@code null}.
+	 * @throws IllegalArgumentException If any number of threads is negative, or all are {@code 0}.
+	 * @throws IllegalStateException If a browser that has threads is not installed. The sub-pools already started are terminated.
+	 */
+	public BrowserRoutingExecutorService(CreateOptions createOptions, LaunchOptions launchOptions, PlaywrightThreadOptions options,
+			int chromiumThreads, int firefoxThreads, int webkitThreads) {
+		Objects.requireNonNull(createOptions, "createOptions");
+		Objects.requireNonNull(launchOptions, "launchOptions");
+		Objects.requireNonNull(options, "options");
+		if(chromiumThreads < 0 || firefoxThreads < 0 || webkitThreads < 0) {
+			throw new IllegalArgumentException("The number of threads must not be negative!");
+		}
+		if(chromiumThreads + firefoxThreads + webkitThreads == 0) {
+			throw new IllegalArgumentException("At least one browser must have threads!");
+		}
+		try {
+			addPool(BrowserKind.CHROMIUM, chromiumThreads, () -> PlaywrightThreadFactory.ofChromium(createOptions, launchOptions, options));
+			addPool(BrowserKind.FIREFOX, firefoxThreads, () -> PlaywrightThreadFactory.ofFirefox(createOptions, launchOptions, options));
+			addPool(BrowserKind.WEBKIT, webkitThreads, () -> PlaywrightThreadFactory.ofWebkit(createOptions, launchOptions, options));
+		}
+		catch(RuntimeException | Error e) {
+			// e.g. a browser is not installed, the sub-pools already started must not keep the JVM alive
+			try {
+				terminate(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			}
+			catch(InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * Creating a factory verifies the installation of its browser, so it is only created for browsers that have threads.
+	 */
+	private void addPool(BrowserKind browser, int nThreads, Supplier<ThreadFactory> threadFactory) {
+		if(nThreads > 0) pools.put(browser, new PlaywrightExecutorService(nThreads, threadFactory.get()));
+	}
+	
+	/**
+	 * Returns the sub-pool of the given browser.
+	 * @param browser The browser.
+	 * @return The {@link PlaywrightExecutorService} whose threads utilise only the given browser.
+	 * @throws RejectedExecutionException If this executor has no threads for the given browser.
+	 */
+	public PlaywrightExecutorService executor(BrowserKind browser) {
+		PlaywrightExecutorService pool = pools.get(Objects.requireNonNull(browser, "browser"));
+		if(pool == null) {
+			throw new RejectedExecutionException("This executor has no " + browser + " threads.");
+		}
+		return pool;
+	}
+	
+	/**
+	 * Executes the given task on a thread that utilises the given browser.
+	 * @param browser The browser the task needs.
+	 * @param task The task.
+	 * @throws RejectedExecutionException If this executor has no threads for the given browser, or is shut down.
+	 */
+	public void execute(BrowserKind browser, Runnable task) {
+		executor(browser).execute(task);
+	}
+	
+	/**
+	 * Submits the given task to a thread that utilises the given browser.
+	 * @param browser The browser the task needs.
+	 * @param task The task.
+	 * @return A {@link Future} of the task.
+	 * @throws RejectedExecutionException If this executor has no threads for the given browser, or is shut down.
+	 */
+	public Future<?> submit(BrowserKind browser, Runnable task) {
+		return executor(browser).submit(task);
+	}
+	
+	/**
+	 * Submits the given task to a thread that utilises the given browser.
+	 * @param <T> The result type of the task.
+	 * @param browser The browser the task needs.
+	 * @param task The task.
+	 * @return A {@link Future} of the result of the task.
+	 * @throws RejectedExecutionException If this executor has no threads for the given browser, or is shut down.
+	 */
+	public <T> Future<T> submit(BrowserKind browser, Callable<T> task) {
+		return executor(browser).submit(task);
+	}
+	
+	/**
+	 * Submits the given task to a thread that utilises the given browser and returns its result through a {@link CompletableFuture}.
+	 * @param <T> The result type of the task.
+	 * @param browser The browser the task needs.
+	 * @param task The task, which is given the {@link PlaywrightThread} running it.
+	 * @return A {@link CompletableFuture} of the result of the task.
+	 * @throws RejectedExecutionException If this executor has no threads for the given browser, or is shut down.
+	 * @see PlaywrightExecutorService#supply(Function)
+	 */
+	public <T> CompletableFuture<T> supply(BrowserKind browser, Function<? super PlaywrightThread, ? extends T> task) {
+		return executor(browser).supply(task);
+	}
+	
+	/**
+	 * Blocks until the threads of all sub-pools are ready, any of them fails to initialise, or the timeout elapses.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The {@link TimeUnit} of the {@code timeout} argument.
+	 * @return {@code true} if all threads are ready.
+	 * @throws InterruptedException If interrupted while waiting.
+	 * @see PlaywrightExecutorService#awaitReady(long, TimeUnit)
+	 */
+	public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for(PlaywrightExecutorService pool : pools.values()) {
+			if(!pool.awaitReady(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Initiates an orderly shutdown of all sub-pools. Previously submitted tasks are executed, but no new tasks are accepted.
+	 */
+	public void shutdown() {
+		pools.values().forEach(PlaywrightExecutorService::shutdown);
+	}
+	
+	/**
+	 * Attempts to stop all executing tasks of all sub-pools and returns the tasks that were awaiting execution.
+	 * @return The tasks that never commenced execution.
+	 */
+	public List<Runnable> shutdownNow() {
+		List<Runnable> tasks = new ArrayList<>();
+		for(PlaywrightExecutorService pool : pools.values()) {
+			tasks.addAll(pool.shutdownNow());
+		}
+		return Collections.unmodifiableList(tasks);
+	}
+	
+	/**
+	 * Shuts all sub-pools down as fast as possible, concurrently. See {@link PlaywrightExecutorService#terminate(long, TimeUnit)} for details.
+	 * @param timeout The maximum time to wait before and after killing the processes of threads that are still alive.
+	 * @param unit The {@link TimeUnit} of the {@code timeout} argument.
+	 * @return {@code true} if this executor terminated, {@code false} if threads were still alive after both timeouts.
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public boolean terminate(long timeout, TimeUnit unit) throws InterruptedException {
+		shutdownNow();
+		if(awaitTermination(timeout, unit)) return true;
+		pools.values().forEach(PlaywrightExecutorService::killLiveThreads);
+		return awaitTermination(timeout, unit);
+	}
+	
+	/**
+	 * Returns whether all sub-pools have been shut down.
+	 * @return {@code true} if this executor has been shut down.
+	 */
+	public boolean isShutdown() {
+		return pools.values().stream().allMatch(PlaywrightExecutorService::isShutdown);
+	}
+	
+	/**
+	 * Returns whether all tasks have completed following shut down.
+	 * @return {@code true} if all sub-pools have terminated.
+	 */
+	public boolean isTerminated() {
+		return pools.values().stream().allMatch(PlaywrightExecutorService::isTerminated);
+	}
+	
+	/**
+	 * Blocks until all sub-pools have terminated after a shutdown request, the timeout elapses, or the current thread is interrupted.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The {@link TimeUnit} of the {@code timeout} argument.
+	 * @return {@code true} if this executor terminated, {@code false} if the timeout elapsed before termination.
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for(PlaywrightExecutorService pool : pools.values()) {
+			if(!pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) return false;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * Holds one of the three {@link Browser}s of a {@link PlaywrightThread}. A slot is either unused, pending (used but not launched yet)
+ * or launched.
+ */
+@Internal
+final class BrowserSlot {
+	
+	private final String name;
+	private final Function<Playwright, BrowserType> browserType;
+	private final Supplier<PlaywrightThreadOptions> options;
+	private final ContextPool contexts = new ContextPool();
+	private final PagePool pages = new PagePool();
+	private Browser browser;
+	private Browser exposed;  // the browser handed out to users, which sets up the contexts it creates
+	private boolean used;
+	private long launched;
+	private int tasks;
+	private volatile boolean crashed;
+	private volatile int crashes;
+	private volatile int relaunches;
+	
+	BrowserSlot(String name, Function<Playwright, BrowserType> browserType, Supplier<PlaywrightThreadOptions> options) {
+		this.name = name;
+		this.browserType = browserType;
+		this.options = options;
+	}
+	
+	String name() {
+		return name;
+	}
+	
+	BrowserType browserType(Playwright playwright) {
+		return browserType.apply(playwright);
+	}
+	
+	/**
+	 * Binds an already launched {@link Browser} to this slot, {@code null} marks this slot as unused.
+	 */
+	void bind(Browser browser) {
+		this.browser = browser;
+		this.exposed = browser == null ? null : SetupBrowser.wrap(browser, options.get().contextSetup());
+		this.used = browser != null;
+		this.launched = System.nanoTime();
+		this.tasks = 0;
+		this.crashed = false;
+		if(browser != null) {
+			options.get().metrics.browserOpened(name);
+			// closed and replaced browsers are no longer bound when they disconnect, so only crashes are counted
+			browser.onDisconnected(b -> {
+				if(b == this.browser) {
+					crashed = true;
+					crashes++;
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Binds the given replacement {@link Browser} to this slot and closes the previous one.
+	 */
+	void replace(Browser replacement) {
+		if(crashed) relaunches++;
+		Browser previous = browser;
+		contexts.clear();
+		pages.clear();
+		if(previous != null) options.get().metrics.browserClosed(name);
+		bind(replacement);
+		if(previous != null) {
+			try {
+				previous.close();
+			}
+			catch(PlaywrightException e) {
+				// the previous browser is already gone
+			}
+		}
+	}
+	
+	/**
+	 * Marks this slot as used without launching its {@link Browser}.
+	 */
+	void defer() {
+		this.browser = null;
+		this.exposed = null;
+		this.used = true;
+	}
+	
+	boolean isUsed() {
+		return used;
+	}
+	
+	boolean isPending() {
+		return used && browser == null;
+	}
+	
+	/**
+	 * Returns the {@link Browser} of this slot as handed out to users.
+	 */
+	Browser browser() {
+		return exposed;
+	}
+	
+	/**
+	 * Returns the {@link System#nanoTime()} at which the current {@link Browser} was bound.
+	 */
+	long launched() {
+		return launched;
+	}
+	
+	int tasks() {
+		return tasks;
+	}
+	
+	void taskCompleted() {
+		if(browser != null) tasks++;
+	}
+	
+	/**
+	 * Returns whether the current {@link Browser} disconnected without being closed, e.g. because its process crashed or was killed.
+	 */
+	boolean isCrashed() {
+		return browser != null && (crashed || !browser.isConnected());
+	}
+	
+	int crashes() {
+		return crashes;
+	}
+	
+	int relaunches() {
+		return relaunches;
+	}
+	
+	ContextPool contexts() {
+		return contexts;
+	}
+	
+	PagePool pages() {
+		return pages;
+	}
+	
+	/**
+	 * Closes the {@link Browser} of this slot if it was launched. The slot becomes pending again.
+	 */
+	void close() {
+		if(browser != null) {
+			Browser b = browser;
+			browser = null;
+			exposed = null;
+			options.get().metrics.browserClosed(name);
+			contexts.clear();
+			pages.clear();
+			b.close();
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * Bounds the time a {@link PlaywrightThread} spends closing its {@link com.microsoft.playwright.Browser Browser}s and {@link Playwright} 
+ * instance. Each close is given the configured timeout, after which the driver and browser processes of the thread are killed so that 
+ * the hanging close fails. Only used by the owning thread.
+ */
+@Internal
+final class CloseWatchdog {
+	
+	private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, r -> {
+		Thread t = new Thread(r, "PlaywrightThread-close-watchdog");
+		t.setDaemon(true);
+		return t;
+	});
+	static {
+		TIMER.setRemoveOnCancelPolicy(true);
+	}
+	
+	private final Playwright playwright;
+	private final long driverPid;
+	private final long timeout;
+	private volatile boolean killed;
+	
+	CloseWatchdog(Playwright playwright, long driverPid, Duration timeout) {
+		this.playwright = playwright;
+		this.driverPid = driverPid;
+		this.timeout = timeout.toNanos();
+	}
+	
+	/**
+	 * Runs the given close, killing the processes if it does not return in time. Failures caused by the kill are ignored.
+	 */
+	void close(Runnable close) {
+		if(killed) {
+			try {
+				close.run();
+			}
+			catch(PlaywrightException e) {
+				// the connection died with the processes
+			}
+			return;
+		}
+		
+		ScheduledFuture<?> kill = TIMER.schedule(this::kill, timeout, TimeUnit.NANOSECONDS);
+		try {
+			close.run();
+		}
+		catch(PlaywrightException e) {
+			if(!killed) throw e;
+		}
+		finally {
+			kill.cancel(false);
+		}
+	}
+	
+	boolean killed() {
+		return killed;
+	}
+	
+	private void kill() {
+		killed = true;
+		ProcessTree.kill(playwright, driverPid);
+	}
+
+}
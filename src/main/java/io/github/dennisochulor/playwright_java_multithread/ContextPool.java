@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Route;
+
+/**
+ * Idle {@link BrowserContext}s of one {@link Browser} of a {@link PlaywrightThread}. Only accessed by the owning thread.
+ */
+@Internal
+final class ContextPool {
+	
+	private static final String CLEAR_STORAGE = "async () => {"
+			+ " try { localStorage.clear(); sessionStorage.clear(); } catch(e) {}"
+			+ " try { for(const db of await indexedDB.databases()) await new Promise(r => { const q = indexedDB.deleteDatabase(db.name); q.onsuccess = q.onerror = q.onblocked = r; }); } catch(e) {}"
+			+ " try { for(const key of await caches.keys()) await caches.delete(key); } catch(e) {}"
+			+ " try { for(const w of await navigator.serviceWorker.getRegistrations()) await w.unregister(); } catch(e) {}"
+			+ " }";
+	private static final Route.FulfillOptions BLANK = new Route.FulfillOptions().setStatus(200).setContentType("text/html").setBody("");
+	
+	private final Deque<BrowserContext> idle = new ArrayDeque<>();
+	private final Map<BrowserContext, Set<String>> visited = new WeakHashMap<>();
+	
+	BrowserContext acquire(Browser browser, PlaywrightThreadOptions options) {
+		BrowserContext context = idle.pollFirst();
+		if(context != null) return context;
+		context = options.contextOptions != null ? browser.newContext(options.contextOptions) : browser.newContext();
+		// every document of the context, in any page or frame, is loaded by a navigation request
+		Set<String> origins = new LinkedHashSet<>();
+		context.onRequest(request -> {
+			if(request.isNavigationRequest()) {
+				String origin = origin(request.url());
+				if(origin != null) origins.add(origin);
+			}
+		});
+		visited.put(context, origins);
+		return context;
+	}
+	
+	/**
+	 * Resets the given {@link BrowserContext} and keeps it for reuse, or closes it if the pool is full or the reset fails. 
+	 * Failures of a custom reset other than {@link PlaywrightException}s are rethrown once the context is closed.
+	 */
+	void release(BrowserContext context, PlaywrightThreadOptions options) {
+		if(idle.size() < options.contextPoolSize) {
+			try {
+				Set<String> origins = visited.get(context);
+				if(options.contextReset != null) options.contextReset.accept(context);
+				else reset(context, origins);
+				if(origins != null) origins.clear();
+				idle.addFirst(context);  // most recently used first, its caches are the warmest
+				return;
+			}
+			catch(PlaywrightException e) {
+				// the context is unusable, discard it below
+			}
+			catch(RuntimeException e) {
+				closeQuietly(context);  // a bug in the custom reset, which must not leak the context
+				throw e;
+			}
+		}
+		closeQuietly(context);
+	}
+	
+	/**
+	 * Forgets all idle contexts. Used when the owning {@link Browser} is closed, which closes the contexts as well.
+	 */
+	void clear() {
+		idle.clear();
+	}
+	
+	/**
+	 * The default reset: clears cookies and permissions, closes all pages but the first, and clears the local and session storage, 
+	 * IndexedDB databases, cache storage and service workers of every http(s) origin the context navigated to during the lease, by 
+	 * loading an empty document of each origin into the first page. The first page is then navigated to {@code about:blank}. 
+	 * <br><br>
+	 * Routes, init scripts, bindings and extra HTTP headers added to the context itself cannot be undone and carry over into the next 
+	 * lease, as do the contents of the HTTP cache. Storage of origins that were only loaded without a navigation, e.g. by a worker, is
+	 * not cleared.
+	 */
+	static void reset(BrowserContext context, Set<String> visited) {
+		List<Page> pages = context.pages();
+		Set<String> origins = new LinkedHashSet<>();
+		if(visited != null) origins.addAll(visited);
+		for(Page page : pages) {
+			String origin = origin(page.url());
+			if(origin != null) origins.add(origin);
+		}
+		context.clearCookies();
+		context.clearPermissions();
+		for(int i = 1; i < pages.size(); i++) {
+			pages.get(i).close();
+		}
+		if(pages.isEmpty() && origins.isEmpty()) return;
+		
+		Page page = pages.isEmpty() ? context.newPage() : pages.get(0);
+		if(!origins.isEmpty()) {
+			// page routes take precedence over those the task added to the context, so the origins are never actually requested
+			Consumer<Route> blank = route -> route.fulfill(BLANK);
+			page.route("**/*", blank);
+			try {
+				for(String origin : origins) {
+					page.navigate(origin + "/");
+					page.evaluate(CLEAR_STORAGE);
+				}
+			}
+			finally {
+				page.unroute("**/*", blank);
+			}
+		}
+		page.navigate("about:blank");
+	}
+	
+	/**
+	 * Returns the origin of the given http(s) URL, or {@code null} if it has none that holds storage.
+	 */
+	static String origin(String url) {
+		try {
+			URL parsed = new URL(url);
+			String protocol = parsed.getProtocol();
+			if(!protocol.equals("http") && !protocol.equals("https") || parsed.getHost().isEmpty()) return null;
+			return protocol + "://" + parsed.getHost() + (parsed.getPort() != -1 ? ":" + parsed.getPort() : "");
+		}
+		catch(MalformedURLException e) {
+			return null;
+		}
+	}
+	
+	static void closeQuietly(BrowserContext context) {
+		try {
+			context.close();
+		}
+		catch(PlaywrightException e) {
+			// already closed
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 
+ * This class is a {@link PlaywrightExecutorService} whose number of threads follows the load: it adds a thread when tasks wait in the queue
+ * for too long and removes threads that have been idle, within the limits of a {@link ScalingPolicy}. As each {@link PlaywrightThread} 
+ * takes hundreds of megabytes, the pool does not grow when the host is running out of memory. For example:
+ * 
+ * <pre>
+ * ScalingPolicy policy = new ScalingPolicy().setMinThreads(2).setMaxThreads(16).setIdleTimeout(Duration.ofMinutes(5));
+ * ElasticPlaywrightExecutorService executor = new ElasticPlaywrightExecutorService(policy, PlaywrightThreadFactory.ofChromium());
+ * </pre>
+ * 
+ * The pool grows by at most one thread at a time and only once the previously added thread is ready, so that a burst of tasks does not
+ * launch more browsers than it needs. The minimum number of threads are started concurrently when the pool is constructed, like
+ * the threads of a {@link PlaywrightExecutorService}.
+ * 
+ * @see ScalingPolicy
+ *
+ */
+public class ElasticPlaywrightExecutorService extends PlaywrightExecutorService {
+	
+	private final ScalingPolicy policy;
+	private final ScheduledExecutorService scaler;
+	private final AtomicLong deniedByMemory = new AtomicLong();
+	private long busy = System.nanoTime();  // only accessed by the scaler
+	
+	/**
+	 * Constructs an {@link ElasticPlaywrightExecutorService} and starts the minimum number of threads of the given {@link ScalingPolicy}.
+	 * @param policy The {@link ScalingPolicy} of this pool.
+	 * @param threadFactory A {@link ThreadFactory} that produces {@link PlaywrightThread}s, typically obtained via {@link PlaywrightThreadFactory}.
+	 * @throws IllegalArgumentException If the maximum number of threads of the {@link ScalingPolicy} is less than its minimum.
+	 * @throws NullPointerException If {@code policy} or {@code threadFactory} is {@code null}.
+	 */
+	public ElasticPlaywrightExecutorService(ScalingPolicy policy, ThreadFactory threadFactory) {
+		super(checked(policy).minThreads, policy.maxThreads, threadFactory);
+		this.policy = policy;
+		this.scaler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "ElasticPlaywrightExecutorService-scaler");
+			t.setDaemon(true);
+			return t;
+		});
+		long interval = policy.interval.toNanos();
+		scaler.scheduleWithFixedDelay(this::scale, interval, interval, TimeUnit.NANOSECONDS);
+	}
+	
+	private static ScalingPolicy checked(ScalingPolicy policy) {
+		Objects.requireNonNull(policy, "policy");
+		if(policy.maxThreads < policy.minThreads) {
+			throw new IllegalArgumentException("maxThreads must not be less than minThreads!");
+		}
+		return policy;
+	}
+	
+	/**
+	 * Returns how many times this pool did not grow despite waiting tasks because of the memory limits of its {@link ScalingPolicy}.
+	 * @return The number of scale-ups denied because of memory.
+	 */
+	public long scaleUpsDeniedByMemory() {
+		return deniedByMemory.get();
+	}
+	
+	/**
+	 * Grows or shrinks this pool by one thread if the {@link ScalingPolicy} says so. Invoked periodically by the scaler thread.
+	 */
+	private void scale() {
+		try {
+			if(isShutdown()) return;
+			long now = System.nanoTime();
+			Runnable head = getQueue().peek();
+			long wait = head instanceof QueuedTask ? now - ((QueuedTask) head).enqueued : 0;
+			int core = getCorePoolSize();
+			if(head != null || getActiveCount() >= getPoolSize()) busy = now;
+			
+			if(wait >= policy.scaleUpWait.toNanos() && core < policy.maxThreads && !isStarting()) {
+				if(hasMemoryForThread()) setCorePoolSize(core + 1);  // starts a thread for the queued tasks
+				else deniedByMemory.incrementAndGet();
+			}
+			else if(head == null && now - busy >= policy.idleTimeout.toNanos() && core > policy.minThreads) {
+				setCorePoolSize(core - 1);  // an idle thread terminates
+				busy = now;
+			}
+		}
+		catch(RuntimeException e) {
+			// keep scaling on the next check
+		}
+	}
+	
+	private boolean isStarting() {
+		for(PlaywrightThread t : liveThreads()) {
+			if(!t.ready().isDone()) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns whether the memory limits allow another thread, estimating its memory as the average of the existing threads.
+	 */
+	private boolean hasMemoryForThread() {
+		long total = 0;
+		int measured = 0;
+		for(PlaywrightThread t : liveThreads()) {
+			long rss = ProcessTree.rss(t.driverPid());
+			if(rss != ProcessTree.UNKNOWN) {
+				total += rss;
+				measured++;
+			}
+		}
+		long perThread = measured == 0 ? 0 : total / measured;
+		if(policy.maxMemory > 0 && measured > 0 && total + perThread > policy.maxMemory) return false;
+		if(policy.minAvailableMemory > 0) {
+			long available = ProcessTree.memAvailable();
+			if(available != ProcessTree.UNKNOWN && available - perThread < policy.minAvailableMemory) return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public void execute(Runnable command) {
+		Objects.requireNonNull(command);
+		// without a core thread, ThreadPoolExecutor would start a thread that exits as soon as the queue is empty
+		if(getCorePoolSize() == 0 && !isShutdown()) setCorePoolSize(1);
+		super.execute(new QueuedTask(command));
+	}
+	
+	@Override
+	protected void terminated() {
+		scaler.shutdownNow();
+		super.terminated();
+	}
+	
+	@Override
+	Runnable unwrap(Runnable r) {
+		return r instanceof QueuedTask ? ((QueuedTask) r).task : r;
+	}
+	
+	/**
+	 * Remembers when a task was queued, so that the scaler can tell how long the oldest queued task has waited.
+	 */
+	private static final class QueuedTask implements Runnable {
+		
+		final Runnable task;
+		final long enqueued = System.nanoTime();
+		
+		QueuedTask(Runnable task) {
+			this.task = task;
+		}
+		
+		@Override
+		public void run() {
+			task.run();
+		}
+		
+	}
+
+}
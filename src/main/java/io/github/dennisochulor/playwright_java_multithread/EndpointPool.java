@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The Playwright browser server endpoints shared by the remote {@link PlaywrightThread}s of one factory, with the number of threads
+ * connected to each of them.
+ */
+@Internal
+final class EndpointPool {
+	
+	private final List<String> endpoints;
+	private final int[] connected;
+	private final EndpointSelection selection;
+	private int next;
+	
+	EndpointPool(List<String> endpoints, EndpointSelection selection) {
+		this.endpoints = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(endpoints, "wsEndpoints")));
+		this.selection = Objects.requireNonNull(selection, "selection");
+		if(this.endpoints.isEmpty()) throw new IllegalArgumentException("wsEndpoints must not be empty!");
+		for(String endpoint : this.endpoints) Objects.requireNonNull(endpoint, "wsEndpoints must not contain null!");
+		this.connected = new int[this.endpoints.size()];
+	}
+	
+	int size() {
+		return endpoints.size();
+	}
+	
+	String endpoint(int index) {
+		return endpoints.get(index);
+	}
+	
+	/**
+	 * Selects an endpoint that is not excluded and counts a connection to it. Returns {@code -1} if all endpoints are excluded.
+	 */
+	synchronized int acquire(Set<Integer> excluded) {
+		int selected = -1;
+		for(int i = 0; i < endpoints.size(); i++) {
+			int candidate = selection == EndpointSelection.ROUND_ROBIN ? (next + i) % endpoints.size() : i;
+			if(excluded.contains(candidate)) continue;
+			if(selected == -1 || (selection == EndpointSelection.LEAST_LOADED && connected[candidate] < connected[selected])) {
+				selected = candidate;
+				if(selection == EndpointSelection.ROUND_ROBIN) break;
+			}
+		}
+		if(selected != -1) {
+			connected[selected]++;
+			next = (selected + 1) % endpoints.size();
+		}
+		return selected;
+	}
+	
+	synchronized void release(int index) {
+		connected[index]--;
+	}
+
+}
@@ -24,8 +24,6 @@
 
 package io.github.dennisochulor.playwright_java_multithread;
 
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.BrowserType.LaunchOptions;
 import com.microsoft.playwright.Playwright.CreateOptions;
 
@@ -33,15 +31,7 @@ import com.microsoft.playwright.Playwright.CreateOptions;
 final class FirefoxPlaywrightThread extends InternalPlaywrightThread {
 
 	public FirefoxPlaywrightThread(Runnable r, CreateOptions createOptions, LaunchOptions launchOptions) {
-		super(r, createOptions, launchOptions);
+		super(r, createOptions, launchOptions, false, true, false);
 	}
 
-	
-	@Override
-	PlaywrightThreadInitPackage init(CreateOptions createOptions, LaunchOptions launchOptions) {
-		Playwright playwright = Playwright.create(createOptions);
-		Browser firefox = playwright.firefox().launch(launchOptions);
-		return new PlaywrightThreadInitPackage(playwright, null, firefox, null);
-	}
-	
 }
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * Verifies once per JVM that the Playwright driver can be started and that the browsers of a factory are installed, so that the 
+ * {@link Playwright} instances of its threads can skip the browser installation check of {@link Playwright#create(CreateOptions)}.
+ */
+@Internal
+final class InstallCheck {
+	
+	static final String SKIP_BROWSER_DOWNLOAD = "PLAYWRIGHT_SKIP_BROWSER_DOWNLOAD";
+	
+	private static final Set<List<Object>> VERIFIED = ConcurrentHashMap.newKeySet();  // environment and browser name of verified browsers
+	
+	private InstallCheck() {}
+	
+	/**
+	 * Verifies the given browsers, {@code null} meaning the browser is not used, and returns a copy of the given {@link CreateOptions}
+	 * which skips the installation check. Browsers launched from a custom executable or channel are not verified.
+	 * @throws NullPointerException If {@code createOptions} is {@code null}.
+	 * @throws IllegalStateException If the driver cannot be started or a browser is not installed.
+	 */
+	static CreateOptions verify(CreateOptions createOptions, LaunchOptions chromium, LaunchOptions firefox, LaunchOptions webkit) {
+		Objects.requireNonNull(createOptions, "createOptions");
+		Map<String, String> env = createOptions.env == null ? Collections.<String, String>emptyMap() : createOptions.env;
+		
+		Map<String, Function<Playwright, BrowserType>> pending = new HashMap<>();
+		if(needsCheck(chromium, env, "chromium")) pending.put("chromium", Playwright::chromium);
+		if(needsCheck(firefox, env, "firefox")) pending.put("firefox", Playwright::firefox);
+		if(needsCheck(webkit, env, "webkit")) pending.put("webkit", Playwright::webkit);
+		
+		if(!pending.isEmpty()) {
+			List<String> missing = new ArrayList<>();
+			Playwright playwright;
+			try {
+				playwright = Playwright.create(createOptions);  // also installs the browsers unless the environment skips it
+			}
+			catch(PlaywrightException e) {
+				throw new IllegalStateException("The Playwright driver cannot be started.", e);
+			}
+			try {
+				pending.forEach((name, browserType) -> {
+					String executable = browserType.apply(playwright).executablePath();
+					if(executable != null && Files.isExecutable(Paths.get(executable))) VERIFIED.add(key(env, name));
+					else missing.add(name + " (" + executable + ")");
+				});
+			}
+			finally {
+				playwright.close();
+			}
+			if(!missing.isEmpty()) {
+				throw new IllegalStateException("Browsers are not installed: " + String.join(", ", missing) 
+						+ ". Install them with the Playwright CLI, e.g. \"mvn exec:java -e -Dexec.mainClass=com.microsoft.playwright.CLI -Dexec.args=install\".");
+			}
+		}
+		
+		return skipping(createOptions);
+	}
+	
+	/**
+	 * Returns a copy of the given {@link CreateOptions} which skips the installation check, without verifying any browser. 
+	 * This suits threads which connect to remote browsers, and so need no local browsers at all.
+	 * @throws NullPointerException If {@code createOptions} is {@code null}.
+	 */
+	static CreateOptions skipping(CreateOptions createOptions) {
+		Map<String, String> skipping = createOptions.env == null ? new HashMap<>() : new HashMap<>(createOptions.env);
+		skipping.putIfAbsent(SKIP_BROWSER_DOWNLOAD, "1");
+		return Options.copy(createOptions).setEnv(skipping);
+	}
+	
+	private static boolean needsCheck(LaunchOptions launchOptions, Map<String, String> env, String name) {
+		return launchOptions != null && launchOptions.executablePath == null && launchOptions.channel == null && !VERIFIED.contains(key(env, name));
+	}
+	
+	private static List<Object> key(Map<String, String> env, String name) {
+		return Arrays.asList(new HashMap<>(env), name);
+	}
+
+}
@@ -24,14 +24,35 @@
 
 package io.github.dennisochulor.playwright_java_multithread;
 
+import java.util.List;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.Playwright.CreateOptions;
 
 @Internal
 abstract class InternalPlaywrightThread extends PlaywrightThread {
+	
+	private final CreateOptions createOptions;
+	private final LaunchOptions chromium;
+	private final LaunchOptions firefox;
+	private final LaunchOptions webkit;
 
-	public InternalPlaywrightThread(Runnable r, CreateOptions createOptions, LaunchOptions launchOptions) {
-		super(r, createOptions, launchOptions);
+	InternalPlaywrightThread(Runnable r, CreateOptions createOptions, LaunchOptions launchOptions, boolean chromium, boolean firefox, boolean webkit) {
+		this(r, createOptions, chromium ? launchOptions : null, firefox ? launchOptions : null, webkit ? launchOptions : null);
+	}
+	
+	/**
+	 * Each browser is launched with its own {@link LaunchOptions}, {@code null} means the browser is not used.
+	 */
+	InternalPlaywrightThread(Runnable r, CreateOptions createOptions, LaunchOptions chromium, LaunchOptions firefox, LaunchOptions webkit) {
+		super(r, true);  // initialised by the factory via configure(PlaywrightThreadOptions)
+		this.createOptions = createOptions;
+		this.chromium = chromium;
+		this.firefox = firefox;
+		this.webkit = webkit;
 	}
 	
 	protected PlaywrightThreadInitPackage init() {
@@ -39,6 +60,42 @@ abstract class InternalPlaywrightThread extends PlaywrightThread {
 	}
 	
 	@Override
-	abstract PlaywrightThreadInitPackage init(CreateOptions createOptions, LaunchOptions launchOptions);
+	final void bind() {
+		Playwright playwright = createPlaywright();
+		bind(playwright, chromium != null, firefox != null, webkit != null);
+		if(!options().lazyLaunch) {
+			try {
+				launchPending();
+			}
+			catch(Throwable t) {
+				// close all non-null resources in event of initialisation failure
+				try {
+					closeAll();
+				}
+				catch(RuntimeException e) {
+					t.addSuppressed(e);
+				}
+				throw t;
+			}
+		}
+	}
+	
+	@Override
+	final Playwright createPlaywright() {
+		return Playwright.create(createOptions);
+	}
+	
+	@Override
+	protected Browser launch(BrowserType browserType) {
+		switch(browserType.name()) {
+			case "chromium": {
+				List<String> args = options().chromiumArgs();
+				return browserType.launch(args.isEmpty() ? chromium : Options.withArgs(chromium, args));
+			}
+			case "firefox": return browserType.launch(firefox);
+			case "webkit": return browserType.launch(webkit);
+			default: throw new IllegalArgumentException(browserType.name());
+		}
+	}
 	
 }
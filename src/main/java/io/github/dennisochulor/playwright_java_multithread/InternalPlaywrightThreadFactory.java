@@ -24,7 +24,6 @@
 
 package io.github.dennisochulor.playwright_java_multithread;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
 import java.util.concurrent.ThreadFactory;
 
@@ -34,34 +33,38 @@ import com.microsoft.playwright.Playwright.CreateOptions;
 @Internal
 final class InternalPlaywrightThreadFactory implements ThreadFactory {
 	
-	private final Class<? extends InternalPlaywrightThread> clazz;
+	private final ThreadConstructor constructor;
 	private final CreateOptions createOptions;
 	private final LaunchOptions launchOptions;
+	private final PlaywrightThreadOptions options;
 
-	InternalPlaywrightThreadFactory(Class<? extends InternalPlaywrightThread> clazz,CreateOptions createOptions,LaunchOptions launchOptions) {
-		this.clazz = Objects.requireNonNull(clazz);
+	InternalPlaywrightThreadFactory(ThreadConstructor constructor,CreateOptions createOptions,LaunchOptions launchOptions,PlaywrightThreadOptions options) {
+		this.constructor = Objects.requireNonNull(constructor);
 		this.createOptions = Objects.requireNonNull(createOptions, "createOptions");
 		this.launchOptions = Objects.requireNonNull(launchOptions, "launchOptions");
+		this.options = Objects.requireNonNull(options, "options");
 	}
 
+	/**
+	 * Returns a factory whose threads launch the given browsers locally. The installation of the browsers is verified first, so that 
+	 * a missing browser fails the creation of the factory instead of every thread.
+	 */
+	static InternalPlaywrightThreadFactory launching(ThreadConstructor constructor, CreateOptions createOptions, LaunchOptions launchOptions,
+			PlaywrightThreadOptions options, boolean chromium, boolean firefox, boolean webkit) {
+		Objects.requireNonNull(launchOptions, "launchOptions");
+		Objects.requireNonNull(options, "options");
+		CreateOptions verified = InstallCheck.verify(createOptions, chromium ? launchOptions : null, firefox ? launchOptions : null, webkit ? launchOptions : null);
+		return new InternalPlaywrightThreadFactory(constructor, verified, launchOptions, options);
+	}
+	
 	@Override
 	public final Thread newThread(Runnable r) {
-		try {
-			return clazz.getConstructor(Runnable.class,CreateOptions.class,LaunchOptions.class)
-						.newInstance(r,createOptions,launchOptions);
-		} 
-		catch (InstantiationException e) {
-			throw new RuntimeException("Cannot instantiate an abstract class!",e);
-		} 
-		catch (IllegalAccessException e) {
-			throw new RuntimeException(e);
-		}  
-		catch (InvocationTargetException e) {
-			throw new RuntimeException(e.getCause());
-		} 
-		catch (NoSuchMethodException e) {
-			throw new RuntimeException("Constuctor " + e.getLocalizedMessage() + " must be public!",e);
-		}
+		return PlaywrightThread.constructByFactory(() -> constructor.newThread(r, createOptions, launchOptions)).configure(options);
+	}
+	
+	@FunctionalInterface
+	interface ThreadConstructor {
+		PlaywrightThread newThread(Runnable r, CreateOptions createOptions, LaunchOptions launchOptions);
 	}
 
 }
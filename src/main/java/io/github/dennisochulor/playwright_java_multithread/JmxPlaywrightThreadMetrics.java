@@ -0,0 +1,328 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * 
+ * This class is an implementation of {@link PlaywrightThreadMetrics} that aggregates the measurements of {@link PlaywrightThread}s into
+ * counters and histograms and publishes them as a JMX MBean. Use one instance per factory to tell pools apart. For example:
+ * 
+ * <pre>
+ * JmxPlaywrightThreadMetrics metrics = JmxPlaywrightThreadMetrics.register("crawler");
+ * ThreadFactory factory = PlaywrightThreadFactory.ofChromium(new CreateOptions(), new LaunchOptions(), 
+ *                                      new PlaywrightThreadOptions().setMetrics(metrics));
+ * </pre>
+ * 
+ * The MBean is registered as {@code io.github.dennisochulor.playwright_java_multithread:type=PlaywrightThreadMetrics,name=<name>}.
+ * 
+ * @see PlaywrightThreadMetricsMXBean
+ *
+ */
+public final class JmxPlaywrightThreadMetrics implements PlaywrightThreadMetrics, PlaywrightThreadMetricsMXBean {
+	
+	private final ObjectName objectName;
+	private final LongAdder activeThreads = new LongAdder();
+	private final LongAdder initFailures = new LongAdder();
+	private final LatencyHistogram initLatency = new LatencyHistogram();
+	private final Map<String, LatencyHistogram> launchLatency = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> launchFailures = new ConcurrentHashMap<>();
+	private final LatencyHistogram launchQueueLatency = new LatencyHistogram();
+	private final Map<String, LongAdder> liveBrowsers = new ConcurrentHashMap<>();
+	private final LongAdder taskFailures = new LongAdder();
+	private final LongAdder taskTimeouts = new LongAdder();
+	private final LatencyHistogram taskLatency = new LatencyHistogram();
+	private final LatencyHistogram closeLatency = new LatencyHistogram();
+	private final LongAdder killedThreads = new LongAdder();
+	private final LatencyHistogram hibernateLatency = new LatencyHistogram();
+	private final LatencyHistogram wakeLatency = new LatencyHistogram();
+	
+	private JmxPlaywrightThreadMetrics(ObjectName objectName) {
+		this.objectName = objectName;
+	}
+	
+	/**
+	 * Creates a {@link JmxPlaywrightThreadMetrics} and registers it with the platform {@link MBeanServer} under the given name.
+	 * @param name The name of the MBean, e.g. the name of the pool it measures.
+	 * @return The registered {@link JmxPlaywrightThreadMetrics}
+	 * @throws NullPointerException If {@code name} is {@code null}.
+	 * @throws IllegalStateException If the MBean cannot be registered, e.g. because the name is already in use.
+	 */
+	public static JmxPlaywrightThreadMetrics register(String name) {
+		Objects.requireNonNull(name, "name");
+		try {
+			ObjectName objectName = new ObjectName("io.github.dennisochulor.playwright_java_multithread:type=PlaywrightThreadMetrics,name=" + ObjectName.quote(name));
+			JmxPlaywrightThreadMetrics metrics = new JmxPlaywrightThreadMetrics(objectName);
+			ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+			return metrics;
+		}
+		catch(JMException e) {
+			throw new IllegalStateException("Cannot register the MBean " + name, e);
+		}
+	}
+	
+	/**
+	 * Unregisters the MBean of this {@link JmxPlaywrightThreadMetrics}. Measurements are still recorded afterwards.
+	 */
+	public void unregister() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		}
+		catch(JMException e) {
+			// already unregistered
+		}
+	}
+	
+	
+	// PlaywrightThreadMetrics
+	
+	@Override
+	public void threadStarted() {
+		activeThreads.increment();
+	}
+	
+	@Override
+	public void threadInitialised(long nanos) {
+		initLatency.record(nanos);
+	}
+	
+	@Override
+	public void threadInitFailed() {
+		initFailures.increment();
+	}
+	
+	@Override
+	public void threadTerminated(long closeNanos) {
+		activeThreads.decrement();
+		closeLatency.record(closeNanos);
+	}
+	
+	@Override
+	public void browserLaunched(String browserType, long nanos) {
+		launchLatency.computeIfAbsent(browserType, k -> new LatencyHistogram()).record(nanos);
+	}
+	
+	@Override
+	public void launchQueued(long nanos) {
+		launchQueueLatency.record(nanos);
+	}
+	
+	@Override
+	public void browserLaunchFailed(String browserType) {
+		launchFailures.computeIfAbsent(browserType, k -> new LongAdder()).increment();
+	}
+	
+	@Override
+	public void browserOpened(String browserType) {
+		liveBrowsers.computeIfAbsent(browserType, k -> new LongAdder()).increment();
+	}
+	
+	@Override
+	public void browserClosed(String browserType) {
+		liveBrowsers.computeIfAbsent(browserType, k -> new LongAdder()).decrement();
+	}
+	
+	@Override
+	public void threadKilled() {
+		killedThreads.increment();
+	}
+	
+	@Override
+	public void taskCompleted(long nanos, boolean failed) {
+		taskLatency.record(nanos);
+		if(failed) taskFailures.increment();
+	}
+	
+	@Override
+	public void taskTimedOut() {
+		taskTimeouts.increment();
+	}
+	
+	@Override
+	public void threadHibernated(long nanos) {
+		hibernateLatency.record(nanos);
+	}
+	
+	@Override
+	public void threadWoken(long nanos) {
+		wakeLatency.record(nanos);
+	}
+	
+	
+	// PlaywrightThreadMetricsMXBean
+	
+	@Override
+	public long getActiveThreads() {
+		return activeThreads.sum();
+	}
+	
+	@Override
+	public long getInitCount() {
+		return initLatency.count();
+	}
+	
+	@Override
+	public long getInitFailureCount() {
+		return initFailures.sum();
+	}
+	
+	@Override
+	public double getInitLatencyMeanMillis() {
+		return initLatency.meanMillis();
+	}
+	
+	@Override
+	public double getInitLatencyP99Millis() {
+		return initLatency.percentileMillis(99);
+	}
+	
+	@Override
+	public double getInitLatencyMaxMillis() {
+		return initLatency.maxMillis();
+	}
+	
+	@Override
+	public Map<String, Long> getLaunchCounts() {
+		return snapshot(launchLatency, LatencyHistogram::count);
+	}
+	
+	@Override
+	public Map<String, Long> getLaunchFailureCounts() {
+		return snapshot(launchFailures, LongAdder::sum);
+	}
+	
+	@Override
+	public Map<String, Double> getLaunchLatencyMeanMillis() {
+		return snapshot(launchLatency, LatencyHistogram::meanMillis);
+	}
+	
+	@Override
+	public Map<String, Double> getLaunchLatencyP99Millis() {
+		return snapshot(launchLatency, h -> h.percentileMillis(99));
+	}
+	
+	@Override
+	public Map<String, Long> getLiveBrowsers() {
+		return snapshot(liveBrowsers, LongAdder::sum);
+	}
+	
+	@Override
+	public long getTaskCount() {
+		return taskLatency.count();
+	}
+	
+	@Override
+	public long getTaskFailureCount() {
+		return taskFailures.sum();
+	}
+	
+	@Override
+	public double getLaunchQueueLatencyMeanMillis() {
+		return launchQueueLatency.meanMillis();
+	}
+	
+	@Override
+	public double getLaunchQueueLatencyP99Millis() {
+		return launchQueueLatency.percentileMillis(99);
+	}
+	
+	@Override
+	public long getTaskTimeoutCount() {
+		return taskTimeouts.sum();
+	}
+	
+	@Override
+	public double getTaskLatencyMeanMillis() {
+		return taskLatency.meanMillis();
+	}
+	
+	@Override
+	public double getTaskLatencyP50Millis() {
+		return taskLatency.percentileMillis(50);
+	}
+	
+	@Override
+	public double getTaskLatencyP99Millis() {
+		return taskLatency.percentileMillis(99);
+	}
+	
+	@Override
+	public double getTaskLatencyMaxMillis() {
+		return taskLatency.maxMillis();
+	}
+	
+	@Override
+	public double getCloseLatencyMeanMillis() {
+		return closeLatency.meanMillis();
+	}
+	
+	@Override
+	public double getCloseLatencyMaxMillis() {
+		return closeLatency.maxMillis();
+	}
+	
+	@Override
+	public long getKilledThreads() {
+		return killedThreads.sum();
+	}
+	
+	@Override
+	public long getHibernationCount() {
+		return hibernateLatency.count();
+	}
+	
+	@Override
+	public long getWakeCount() {
+		return wakeLatency.count();
+	}
+	
+	@Override
+	public double getWakeLatencyMeanMillis() {
+		return wakeLatency.meanMillis();
+	}
+	
+	@Override
+	public double getWakeLatencyP99Millis() {
+		return wakeLatency.percentileMillis(99);
+	}
+	
+	private static <V, R> Map<String, R> snapshot(Map<String, V> map, Function<V, R> value) {
+		Map<String, R> snapshot = new TreeMap<>();
+		map.forEach((k, v) -> snapshot.put(k, value.apply(v)));
+		return snapshot;
+	}
+
+}
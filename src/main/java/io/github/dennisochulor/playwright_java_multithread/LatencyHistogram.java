@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of durations in nanoseconds with power-of-two buckets. Percentiles are reported as the upper bound of 
+ * their bucket, i.e. they are accurate within a factor of two, which is enough to tell a launch of 200ms from one of 2s.
+ */
+@Internal
+final class LatencyHistogram {
+	
+	private final AtomicLongArray buckets = new AtomicLongArray(64);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+	
+	void record(long nanos) {
+		nanos = Math.max(0, nanos);
+		buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(nanos) - (nanos == 0 ? 0 : 1));
+		count.increment();
+		sum.add(nanos);
+		max.accumulateAndGet(nanos, Math::max);
+	}
+	
+	long count() {
+		return count.sum();
+	}
+	
+	double meanMillis() {
+		long n = count.sum();
+		return n == 0 ? 0 : sum.sum() / (double) n / 1_000_000;
+	}
+	
+	double maxMillis() {
+		return max.get() / 1_000_000.0;
+	}
+	
+	double percentileMillis(double percentile) {
+		long n = count.sum();
+		if(n == 0) return 0;
+		long rank = (long) Math.ceil(percentile / 100 * n);
+		long seen = 0;
+		for(int i = 0; i < buckets.length(); i++) {
+			seen += buckets.get(i);
+			if(seen >= rank) return Math.min((double) (1L << Math.min(i + 1, 62)), max.get()) / 1_000_000;
+		}
+		return maxMillis();
+	}
+
+}
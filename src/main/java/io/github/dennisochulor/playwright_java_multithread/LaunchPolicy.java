@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 
+ * This class describes how {@link PlaywrightThread}s create their {@link com.microsoft.playwright.Playwright Playwright} instances and 
+ * launch their browsers when many of them do so at once, e.g. when a large pool starts or many threads recycle their browsers together.
+ * Launching dozens of browsers simultaneously saturates the CPU, which makes all of the launches slow and some of them time out. 
+ * With a {@link LaunchPolicy}, only {@link #setMaxConcurrentLaunches(int) maxConcurrentLaunches} initialisations and browser launches run 
+ * at the same time and the others queue, consecutive launches can be {@link #setStagger(Duration) staggered}, and failed launches are 
+ * {@link #setMaxRetries(int) retried} with exponential backoff before the failure is reported. For example:
+ * 
+ * <pre>
+ * LaunchPolicy policy = new LaunchPolicy().setMaxConcurrentLaunches(4).setMaxRetries(2);
+ * new PlaywrightThreadOptions().setLaunchPolicy(policy);
+ * </pre>
+ * 
+ * The limit applies to all threads whose options use the same {@link LaunchPolicy}, so one policy can also limit several factories together.
+ * The time launches spend queueing is reported by {@link PlaywrightThreadMetrics#launchQueued(long)}.
+ * 
+ * @see PlaywrightThreadOptions#setLaunchPolicy(LaunchPolicy)
+ *
+ */
+public final class LaunchPolicy {
+	
+	private static final long MAX_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(5);
+	
+	private int maxConcurrentLaunches = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);  // guarded by this
+	private volatile Duration stagger = Duration.ZERO;
+	volatile int maxRetries;
+	private volatile Duration retryBackoff = Duration.ofSeconds(1);
+	private int running;  // guarded by this
+	private long nextStart = System.nanoTime();  // guarded by this
+	
+	/**
+	 * Sets the maximum number of {@link PlaywrightThread} initialisations and browser launches that run at the same time. 
+	 * Defaults to half the number of available processors.
+	 * @param maxConcurrentLaunches The maximum number of concurrent launches.
+	 * @return This {@link LaunchPolicy}
+	 * @throws IllegalArgumentException If {@code maxConcurrentLaunches <= 0}.
+	 */
+	public LaunchPolicy setMaxConcurrentLaunches(int maxConcurrentLaunches) {
+		if(maxConcurrentLaunches <= 0) throw new IllegalArgumentException("maxConcurrentLaunches must be positive!");
+		synchronized(this) {
+			this.maxConcurrentLaunches = maxConcurrentLaunches;
+			notifyAll();
+		}
+		return this;
+	}
+	
+	/**
+	 * Sets the minimum time between the starts of two launches, which spreads the launches of a cold start out instead of starting 
+	 * {@link #setMaxConcurrentLaunches(int) maxConcurrentLaunches} of them in the same instant. Defaults to {@link Duration#ZERO}.
+	 * @param stagger The minimum time between the starts of two launches.
+	 * @return This {@link LaunchPolicy}
+	 * @throws NullPointerException If {@code stagger} is {@code null}.
+	 * @throws IllegalArgumentException If {@code stagger} is negative.
+	 */
+	public LaunchPolicy setStagger(Duration stagger) {
+		if(Objects.requireNonNull(stagger, "stagger").isNegative()) throw new IllegalArgumentException("stagger must not be negative!");
+		this.stagger = stagger;
+		return this;
+	}
+	
+	/**
+	 * Sets how many times a failed initialisation or browser launch is retried before the failure is reported. Defaults to {@code 0}.
+	 * @param maxRetries The maximum number of retries.
+	 * @return This {@link LaunchPolicy}
+	 * @throws IllegalArgumentException If {@code maxRetries} is negative.
+	 */
+	public LaunchPolicy setMaxRetries(int maxRetries) {
+		if(maxRetries < 0) throw new IllegalArgumentException("maxRetries must not be negative!");
+		this.maxRetries = maxRetries;
+		return this;
+	}
+	
+	/**
+	 * Sets how long to wait before the first retry of a failed launch. The wait doubles with every further retry, but does not grow 
+	 * beyond 5 minutes, or beyond {@code retryBackoff} if that is longer. Defaults to 1 second.
+	 * @param retryBackoff The wait before the first retry.
+	 * @return This {@link LaunchPolicy}
+	 * @throws NullPointerException If {@code retryBackoff} is {@code null}.
+	 * @throws IllegalArgumentException If {@code retryBackoff} is negative.
+	 */
+	public LaunchPolicy setRetryBackoff(Duration retryBackoff) {
+		if(Objects.requireNonNull(retryBackoff, "retryBackoff").isNegative()) throw new IllegalArgumentException("retryBackoff must not be negative!");
+		this.retryBackoff = retryBackoff;
+		return this;
+	}
+	
+	/**
+	 * Blocks until a launch may start.
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	void acquire() throws InterruptedException {
+		long wait;
+		synchronized(this) {
+			while(running >= maxConcurrentLaunches) {
+				wait();
+			}
+			running++;
+			long now = System.nanoTime();
+			long start = Math.max(now, nextStart);
+			nextStart = start + stagger.toNanos();
+			wait = start - now;
+		}
+		try {
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+		catch(InterruptedException e) {
+			release();
+			throw e;
+		}
+	}
+	
+	synchronized void release() {
+		running--;
+		notifyAll();
+	}
+	
+	/**
+	 * Returns how long to wait before the given retry, starting at 1.
+	 */
+	long backoffNanos(int retry) {
+		long nanos = saturatedNanos(retryBackoff);
+		int shift = Math.min(retry - 1, Long.SIZE - 2);
+		long max = Math.max(nanos, MAX_BACKOFF_NANOS);
+		return nanos > max >> shift ? max : nanos << shift;
+	}
+	
+	private static long saturatedNanos(Duration duration) {
+		return duration.getSeconds() >= TimeUnit.NANOSECONDS.toSeconds(Long.MAX_VALUE) ? Long.MAX_VALUE : duration.toNanos();
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+
+/**
+ * Utilities for Playwright's option classes, whose settings are all held in public fields.
+ */
+@Internal
+final class Options {
+	
+	private Options() {}
+	
+	/**
+	 * Returns a shallow copy of the given options object, so that it can be modified without affecting the user's object.
+	 */
+	static <T> T copy(T options) {
+		try {
+			@SuppressWarnings("unchecked")
+			T copy = (T) options.getClass().getConstructor().newInstance();
+			for(Field field : options.getClass().getFields()) {
+				if(!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+					field.set(copy, field.get(options));
+				}
+			}
+			return copy;
+		}
+		catch(ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot copy " + options.getClass().getName(), e);
+		}
+	}
+	
+	/**
+	 * Returns a copy of the given {@link LaunchOptions} with the given command line arguments appended.
+	 */
+	static LaunchOptions withArgs(LaunchOptions launchOptions, List<String> args) {
+		LaunchOptions copy = copy(launchOptions);
+		List<String> merged = new ArrayList<>();
+		if(launchOptions.args != null) merged.addAll(launchOptions.args);
+		merged.addAll(args);
+		return copy.setArgs(merged);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+
+/**
+ * 
+ * This class represents a {@link Page} leased from the page pool of a {@link PlaywrightThread}. Closing the lease removes the listeners
+ * and routes added through {@link #page()}, navigates the {@link Page} to {@code about:blank} and returns it to the pool. Leases are 
+ * obtained via {@link PlaywrightThread#leasePage(Browser)} and are intended to be used with try-with-resources:
+ * 
+ * <pre>
+ * try(PageLease lease = playwrightThread.leasePage(playwrightThread.chromium())) {
+ *     lease.page().navigate("https://playwright.dev");
+ *     ...
+ * }
+ * </pre>
+ * 
+ * All pooled pages of a {@link Browser} share a single {@link com.microsoft.playwright.BrowserContext BrowserContext}, so cookies and storage
+ * are shared between leases. Use {@link PlaywrightThread#leaseContext(Browser)} when tasks must be isolated from each other. <br><br>
+ * Changes that cannot be undone, i.e. {@code exposeFunction}, {@code exposeBinding}, {@code addInitScript}, {@code setExtraHTTPHeaders},
+ * {@code setViewportSize}, {@code emulateMedia}, {@code routeFromHAR}, {@code routeWebSocket} and the default timeouts, make the 
+ * {@link Page} be closed instead of returned to the pool. Popups and other pages opened in the shared context during the lease are
+ * closed when the lease ends.
+ * 
+ * @see PlaywrightThreadOptions#setPagePoolSize(int)
+ *
+ */
+public final class PageLease implements AutoCloseable {
+	
+	private final PlaywrightThread thread;
+	private final BrowserSlot slot;
+	private final Browser browser;
+	private final PagePool.PooledPage pooled;
+	private final PagePool.RecordingPage recording;
+	private final Page page;
+	private boolean closed;
+	
+	PageLease(PlaywrightThread thread, BrowserSlot slot, Browser browser, PagePool.PooledPage pooled) {
+		this.thread = thread;
+		this.slot = slot;
+		this.browser = browser;
+		this.pooled = pooled;
+		this.recording = new PagePool.RecordingPage(pooled);
+		this.page = recording.proxy();
+	}
+	
+	/**
+	 * Returns the leased {@link Page}. Listeners and routes added to it are removed when this lease is closed, listeners and routes
+	 * added to its {@link com.microsoft.playwright.BrowserContext BrowserContext} are not.
+	 * @return The leased {@link Page}
+	 * @throws IllegalStateException If this lease is closed.
+	 */
+	public Page page() {
+		if(closed) throw new IllegalStateException("This PageLease is closed.");
+		return page;
+	}
+	
+	/**
+	 * Returns the leased {@link Page} to the page pool of its {@link PlaywrightThread}. The {@link Page} is closed instead if the pool 
+	 * is full or the {@link Page} has reached its maximum number of uses or age. Does nothing if this lease is already closed.
+	 * @throws IllegalStateException If not called by the {@link PlaywrightThread} which owns the {@link Page}.
+	 */
+	@Override
+	public void close() {
+		if(closed) return;
+		thread.checkOwner();
+		closed = true;
+		recording.cleanup();
+		if(slot.browser() == browser) {
+			slot.pages().release(pooled, thread.options());
+		}
+		else if(!pooled.page.isClosed()) {  // the browser was closed or replaced since the lease began
+			pooled.page.close();
+		}
+	}
+
+}
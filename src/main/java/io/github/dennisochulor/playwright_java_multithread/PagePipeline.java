@@ -0,0 +1,362 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Page.NavigateOptions;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitUntilState;
+
+/**
+ * 
+ * This class lets a single {@link PlaywrightThread} drive several {@link Page}s at once, so that the thread does not sit idle while a 
+ * page waits on the network. Each submitted URL is navigated in its own {@link Page} without waiting for it to load, and its callback
+ * runs on the thread once the page has loaded. At most {@code maxInFlight} pages load at the same time, further submissions wait for
+ * a page to become free. For example:
+ * 
+ * <pre>
+ * PlaywrightThread t = PlaywrightThread.current();
+ * try(PagePipeline pipeline = t.pipeline(t.chromium(), 8)) {
+ *     for(String url : urls) {
+ *         pipeline.submit(url, page -&gt; titles.put(url, page.title()));
+ *     }
+ *     pipeline.drain();
+ * }
+ * </pre>
+ * 
+ * Page events are dispatched by Playwright on the owning thread while it waits, so callbacks are invoked one at a time by
+ * {@link #submit(String, Consumer)} and {@link #drain()} and never concurrently. Callbacks should not keep references to their 
+ * {@link Page}, as it is reused for later URLs. All pages share one {@link BrowserContext}, which is closed with the pipeline. <br><br>
+ * A {@link PagePipeline} may only be used by the {@link PlaywrightThread} that created it.
+ * 
+ * @see PlaywrightThread#pipeline(Browser, int)
+ *
+ */
+public final class PagePipeline implements AutoCloseable {
+	
+	private static final double PUMP_MILLIS = 10;
+	
+	private final PlaywrightThread owner;
+	private final BrowserContext context;
+	private final int maxInFlight;
+	private final Map<Page, Flight> inFlight = new LinkedHashMap<>();
+	private final Deque<Page> loaded = new ArrayDeque<>();
+	private final Deque<Page> idle = new ArrayDeque<>();
+	private final Map<Page, WaitUntilState> loadEvents = new HashMap<>();
+	private final Set<Page> crashed = new HashSet<>();
+	private Duration timeout = Duration.ofSeconds(30);
+	private WaitUntilState waitUntil = WaitUntilState.LOAD;
+	private BiConsumer<String, ? super RuntimeException> errorHandler;
+	private RuntimeException failure;
+	private long completed;
+	private long failed;
+	
+	PagePipeline(PlaywrightThread owner, Browser browser, int maxInFlight) {
+		if(maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive!");
+		this.owner = owner;
+		this.maxInFlight = maxInFlight;
+		this.context = browser.newContext(owner.options().contextOptions);
+	}
+	
+	/**
+	 * Sets how long a page may take to load before its URL fails with a timeout. Defaults to 30 seconds.
+	 * @param timeout The timeout per URL.
+	 * @return This {@link PagePipeline}
+	 * @throws NullPointerException If {@code timeout} is {@code null}.
+	 */
+	public PagePipeline setTimeout(Duration timeout) {
+		this.timeout = Objects.requireNonNull(timeout, "timeout");
+		return this;
+	}
+	
+	/**
+	 * Sets which event marks a page as loaded, either {@link WaitUntilState#LOAD} or {@link WaitUntilState#DOMCONTENTLOADED}.
+	 * Defaults to {@link WaitUntilState#LOAD}. Only affects pages opened afterwards.
+	 * @param waitUntil The load event.
+	 * @return This {@link PagePipeline}
+	 * @throws IllegalArgumentException If {@code waitUntil} is neither {@link WaitUntilState#LOAD} nor {@link WaitUntilState#DOMCONTENTLOADED}.
+	 */
+	public PagePipeline setWaitUntil(WaitUntilState waitUntil) {
+		if(waitUntil != WaitUntilState.LOAD && waitUntil != WaitUntilState.DOMCONTENTLOADED) {
+			throw new IllegalArgumentException("waitUntil must be LOAD or DOMCONTENTLOADED!");
+		}
+		this.waitUntil = waitUntil;
+		return this;
+	}
+	
+	/**
+	 * Sets the handler of failed URLs, i.e. navigation failures, timeouts and exceptions thrown by callbacks. Without a handler, 
+	 * the first failure is thrown by {@link #drain()} with the later ones suppressed.
+	 * @param errorHandler The handler, which is given the URL and the failure.
+	 * @return This {@link PagePipeline}
+	 */
+	public PagePipeline onError(BiConsumer<String, ? super RuntimeException> errorHandler) {
+		this.errorHandler = errorHandler;
+		return this;
+	}
+	
+	/**
+	 * Starts navigating a free page to the given URL and returns without waiting for it to load, unless {@code maxInFlight} pages are 
+	 * loading already, in which case it first waits for one of them and runs its callback.
+	 * @param url The URL to navigate to.
+	 * @param callback The callback that is given the loaded page.
+	 * @throws IllegalStateException If not called by the {@link PlaywrightThread} that created this pipeline.
+	 */
+	public void submit(String url, Consumer<Page> callback) {
+		owner.checkOwner();
+		Objects.requireNonNull(url, "url");
+		Objects.requireNonNull(callback, "callback");
+		while(inFlight.size() >= maxInFlight) pump();
+		
+		Page page = idle.isEmpty() ? newPage() : idle.poll();
+		Flight flight = new Flight(url, callback);
+		inFlight.put(page, flight);
+		try {
+			// returns once the response starts, the load event is dispatched later
+			page.navigate(url, new NavigateOptions().setWaitUntil(WaitUntilState.COMMIT).setTimeout(timeout.toMillis()));
+		}
+		catch(PlaywrightException e) {
+			loaded.remove(page);
+			if(inFlight.remove(page) != null) fail(url, e);  // unless the crash of the page already failed it
+			recycle(page);
+			return;
+		}
+		flight.committed = true;
+		// a load event during navigate may belong to the previous document or, rarely, to the new one
+		if(flight.early && isLoaded(page)) markLoaded(page, flight);
+	}
+	
+	/**
+	 * Waits until all submitted URLs have loaded or failed and their callbacks have run.
+	 * @throws RuntimeException The first failure, if no {@link #onError(BiConsumer) error handler} is set.
+	 * @throws IllegalStateException If not called by the {@link PlaywrightThread} that created this pipeline.
+	 */
+	public void drain() {
+		owner.checkOwner();
+		while(!inFlight.isEmpty()) pump();
+		RuntimeException f = failure;
+		failure = null;
+		if(f != null) throw f;
+	}
+	
+	/**
+	 * Returns the number of URLs whose callback completed normally.
+	 * @return The number of completed URLs.
+	 */
+	public long completed() {
+		return completed;
+	}
+	
+	/**
+	 * Returns the number of URLs that failed.
+	 * @return The number of failed URLs.
+	 */
+	public long failed() {
+		return failed;
+	}
+	
+	/**
+	 * Runs the callbacks of loaded pages, fails expired ones and otherwise waits briefly so that Playwright dispatches page events.
+	 */
+	private void pump() {
+		if(loaded.isEmpty()) {
+			expire();
+			if(inFlight.isEmpty()) return;
+			Page page = inFlight.keySet().iterator().next();
+			try {
+				page.waitForTimeout(PUMP_MILLIS);  // dispatches the events of all pages of this thread
+			}
+			catch(PlaywrightException e) {
+				// the page was closed or crashed, its flight fails below unless it has loaded
+				crashed.add(page);
+			}
+			expireDead();
+		}
+		Page page;
+		while((page = loaded.poll()) != null) {
+			Flight flight = inFlight.remove(page);
+			if(flight == null) continue;
+			try {
+				flight.callback.accept(page);
+				completed++;
+			}
+			catch(RuntimeException e) {
+				fail(flight.url, e);
+			}
+			recycle(page);
+		}
+	}
+	
+	/**
+	 * Fails the URLs of pages that were closed or crashed before they loaded.
+	 */
+	private void expireDead() {
+		Iterator<Map.Entry<Page, Flight>> it = inFlight.entrySet().iterator();
+		while(it.hasNext()) {
+			Map.Entry<Page, Flight> e = it.next();
+			if(!e.getValue().loaded && !isAlive(e.getKey())) {
+				it.remove();
+				fail(e.getValue().url, new PlaywrightException("The page was closed or crashed while loading " + e.getValue().url));
+				recycle(e.getKey());
+			}
+		}
+	}
+	
+	/**
+	 * Keeps the given page for later URLs, or discards it if it was closed, e.g. by a callback, or crashed.
+	 */
+	private void recycle(Page page) {
+		if(isAlive(page)) {
+			idle.add(page);
+			return;
+		}
+		crashed.remove(page);
+		loadEvents.remove(page);
+		closeQuietly(page);
+	}
+	
+	private boolean isAlive(Page page) {
+		return !page.isClosed() && !crashed.contains(page);
+	}
+	
+	/**
+	 * Returns whether the current document of the given page has reached the load event of the page.
+	 */
+	private boolean isLoaded(Page page) {
+		try {
+			Object state = page.evaluate("document.readyState");
+			return loadEvents.get(page) == WaitUntilState.LOAD ? "complete".equals(state) : !"loading".equals(state);
+		}
+		catch(PlaywrightException e) {
+			return false;  // the page failed or is navigating again, its flight fails or expires later
+		}
+	}
+	
+	private void markLoaded(Page page, Flight flight) {
+		flight.loaded = true;
+		loaded.add(page);
+	}
+	
+	private void expire() {
+		long now = System.nanoTime();
+		Iterator<Map.Entry<Page, Flight>> it = inFlight.entrySet().iterator();
+		while(it.hasNext()) {
+			Map.Entry<Page, Flight> e = it.next();
+			if(now - e.getValue().started >= timeout.toNanos()) {
+				it.remove();
+				fail(e.getValue().url, new PlaywrightException("Timeout " + timeout.toMillis() + "ms exceeded while loading " + e.getValue().url));
+				loadEvents.remove(e.getKey());
+				crashed.remove(e.getKey());
+				closeQuietly(e.getKey());  // it may still be loading
+			}
+		}
+	}
+	
+	private Page newPage() {
+		Page page = context.newPage();
+		Consumer<Page> onLoaded = p -> {
+			Flight flight = inFlight.get(p);
+			if(flight == null || flight.loaded) return;
+			if(!flight.committed) {
+				flight.early = true;  // e.g. the load event of the previous document, checked once navigate returns
+				return;
+			}
+			// ignores the load event of the initial about:blank
+			if(!"about:blank".equals(p.url()) || "about:blank".equals(flight.url)) markLoaded(p, flight);
+		};
+		if(waitUntil == WaitUntilState.DOMCONTENTLOADED) page.onDOMContentLoaded(onLoaded);
+		else page.onLoad(onLoaded);
+		page.onCrash(crashed::add);
+		loadEvents.put(page, waitUntil);
+		return page;
+	}
+	
+	private void fail(String url, RuntimeException e) {
+		failed++;
+		if(errorHandler != null) {
+			errorHandler.accept(url, e);
+		}
+		else if(failure == null) {
+			failure = e;
+		}
+		else {
+			failure.addSuppressed(e);
+		}
+	}
+	
+	private static void closeQuietly(Page page) {
+		try {
+			page.close();
+		}
+		catch(PlaywrightException e) {
+			// already closed
+		}
+	}
+	
+	/**
+	 * Closes the {@link BrowserContext} of this pipeline and all of its pages, including those still loading.
+	 */
+	@Override
+	public void close() {
+		inFlight.clear();
+		loaded.clear();
+		idle.clear();
+		loadEvents.clear();
+		crashed.clear();
+		context.close();
+	}
+	
+	private static final class Flight {
+		
+		final String url;
+		final Consumer<Page> callback;
+		final long started = System.nanoTime();
+		boolean committed;  // navigate returned, so load events belong to this URL
+		boolean early;  // a load event arrived before navigate returned
+		boolean loaded;
+		
+		Flight(String url, Consumer<Page> callback) {
+			this.url = url;
+			this.callback = callback;
+		}
+		
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * Idle {@link Page}s of one {@link Browser} of a {@link PlaywrightThread}. All pooled pages share a single {@link BrowserContext}.
+ * Only accessed by the owning thread.
+ */
+@Internal
+final class PagePool {
+	
+	private final Deque<PooledPage> idle = new ArrayDeque<>();
+	private final Set<Page> leased = Collections.newSetFromMap(new IdentityHashMap<>());
+	private BrowserContext context;
+	
+	PooledPage acquire(Browser browser, PlaywrightThreadOptions options) {
+		PooledPage pooled;
+		while((pooled = idle.pollFirst()) != null) {
+			if(!pooled.isExpired(options)) break;
+			closeQuietly(pooled.page);
+		}
+		if(pooled == null) {
+			if(context == null) {
+				context = options.contextOptions != null ? browser.newContext(options.contextOptions) : browser.newContext();
+			}
+			pooled = new PooledPage(context.newPage());
+		}
+		leased.add(pooled.page);
+		return pooled;
+	}
+	
+	/**
+	 * Keeps the given page for reuse, or closes it if the pool is full, the page has reached its limits or it cannot be reset.
+	 */
+	void release(PooledPage pooled, PlaywrightThreadOptions options) {
+		pooled.uses++;
+		leased.remove(pooled.page);
+		closeStrays();
+		if(idle.size() < options.pagePoolSize && !pooled.page.isClosed() && !pooled.tainted && !pooled.isExpired(options)) {
+			try {
+				pooled.page.navigate("about:blank");
+				idle.addFirst(pooled);
+				return;
+			}
+			catch(PlaywrightException e) {
+				// the page is unusable, discard it below
+			}
+		}
+		closeQuietly(pooled.page);
+	}
+	
+	/**
+	 * Closes the pages of the shared context that are neither pooled nor leased, e.g. popups and pages opened via {@code page.context()}
+	 * during a lease, which would otherwise pile up for the lifetime of the browser.
+	 */
+	private void closeStrays() {
+		if(context == null) return;
+		Set<Page> pooled = Collections.newSetFromMap(new IdentityHashMap<>());
+		for(PooledPage p : idle) pooled.add(p.page);
+		try {
+			for(Page page : context.pages()) {
+				if(!pooled.contains(page) && !leased.contains(page)) closeQuietly(page);
+			}
+		}
+		catch(PlaywrightException e) {
+			// the context is gone, the browser was closed
+		}
+	}
+	
+	/**
+	 * Forgets all idle pages and their context. Used when the owning {@link Browser} is closed, which closes them as well.
+	 */
+	void clear() {
+		idle.clear();
+		leased.clear();
+		context = null;
+	}
+	
+	private static void closeQuietly(Page page) {
+		try {
+			page.close();
+		}
+		catch(PlaywrightException e) {
+			// already closed
+		}
+	}
+	
+	
+	static final class PooledPage {
+		
+		final Page page;
+		final long created = System.nanoTime();
+		int uses;
+		boolean tainted;  // a lease changed state of the page that cannot be undone
+		
+		PooledPage(Page page) {
+			this.page = page;
+		}
+		
+		boolean isExpired(PlaywrightThreadOptions options) {
+			return (options.pageMaxUses > 0 && uses >= options.pageMaxUses)
+				|| (options.pageMaxAge != null && System.nanoTime() - created >= options.pageMaxAge.toNanos());
+		}
+		
+	}
+	
+	/**
+	 * A {@link Page} proxy which records the listeners and routes added through it so that they can be removed when the lease ends.
+	 * Calls whose effects cannot be undone taint the page, which is then closed instead of reused.
+	 */
+	static final class RecordingPage implements InvocationHandler {
+		
+		private static final Set<String> TAINTING = new HashSet<>(Arrays.asList("exposeFunction", "exposeBinding", "addInitScript", 
+				"setExtraHTTPHeaders", "setViewportSize", "setDefaultTimeout", "setDefaultNavigationTimeout", "emulateMedia", 
+				"routeFromHAR", "routeWebSocket"));
+		
+		private final PooledPage pooled;
+		private final Page page;
+		private final List<Runnable> cleanups = new ArrayList<>();
+		
+		RecordingPage(PooledPage pooled) {
+			this.pooled = pooled;
+			this.page = pooled.page;
+		}
+		
+		Page proxy() {
+			return (Page) Proxy.newProxyInstance(Page.class.getClassLoader(), new Class<?>[] { Page.class }, this);
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result;
+			try {
+				result = method.invoke(page, args);
+			}
+			catch(InvocationTargetException e) {
+				throw e.getCause();
+			}
+			
+			String name = method.getName();
+			if(TAINTING.contains(name)) {
+				pooled.tainted = true;
+			}
+			else if(name.length() > 2 && name.startsWith("on") && Character.isUpperCase(name.charAt(2)) && args != null && args.length == 1) {
+				// e.g. onRequest(handler) is undone by offRequest(handler)
+				Method off = Page.class.getMethod("off" + name.substring(2), method.getParameterTypes());
+				cleanups.add(() -> invokeQuietly(off, args[0]));
+			}
+			else if(name.equals("route") && args != null && args.length >= 2) {
+				Method unroute = Page.class.getMethod("unroute", method.getParameterTypes()[0], Consumer.class);
+				cleanups.add(() -> invokeQuietly(unroute, args[0], args[1]));
+			}
+			return result;
+		}
+		
+		/**
+		 * Removes all recorded listeners and routes, most recent first.
+		 */
+		void cleanup() {
+			for(int i = cleanups.size() - 1; i >= 0; i--) {
+				cleanups.get(i).run();
+			}
+			cleanups.clear();
+		}
+		
+		private void invokeQuietly(Method method, Object... args) {
+			try {
+				method.invoke(page, args);
+			}
+			catch(ReflectiveOperationException | PlaywrightException e) {
+				// the page was closed, nothing to remove
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,440 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 
+ * This class is a fixed-size {@link ThreadPoolExecutor} of {@link PlaywrightThread}s which starts all of its threads concurrently as soon 
+ * as it is constructed, rather than one at a time as tasks arrive. {@link #awaitReady(long, TimeUnit)} can be used to wait until
+ * all threads are ready, for example before a service reports itself as ready. For example:
+ * 
+ * <pre>
+ * PlaywrightExecutorService executor = new PlaywrightExecutorService(5, PlaywrightThreadFactory.ofChromium(new CreateOptions(), 
+ *                                          new LaunchOptions(), new PlaywrightThreadOptions().setDeferredInit(true)));
+ * if(!executor.awaitReady(1, TimeUnit.MINUTES)) {
+ *     executor.initFailures().forEach(Throwable::printStackTrace);
+ * }
+ * </pre>
+ * 
+ * A thread that fails to initialise does not prevent the other threads from becoming ready. Its failure is reported via 
+ * {@link #initFailures()} and the initialisation is retried on that thread before it runs its next task. <br><br>
+ * Threads are started concurrently regardless of the {@link PlaywrightThreadOptions#setDeferredInit(boolean) deferred initialisation} 
+ * option, but deferred initialisation is recommended so that each {@link com.microsoft.playwright.Playwright Playwright} instance is 
+ * created on the thread that uses it.
+ * 
+ * @see PlaywrightThreadFactory
+ *
+ */
+public class PlaywrightExecutorService extends ThreadPoolExecutor {
+	
+	private final List<CompletableFuture<PlaywrightThread>> startup;
+	private final AtomicInteger registered = new AtomicInteger();
+	private final List<Throwable> initFailures = new CopyOnWriteArrayList<>();
+	private final Set<PlaywrightThread> threads = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger pendingHibernations = new AtomicInteger();
+	private ScheduledExecutorService hibernator;
+	
+	/**
+	 * Constructs a {@link PlaywrightExecutorService} with a fixed number of threads and starts all of them concurrently.
+	 * @param nThreads The number of threads in the pool.
+	 * @param threadFactory A {@link ThreadFactory} that produces {@link PlaywrightThread}s, typically obtained via {@link PlaywrightThreadFactory}.
+	 * @throws IllegalArgumentException If {@code nThreads <= 0}.
+	 * @throws NullPointerException If {@code threadFactory} is {@code null}.
+	 */
+	public PlaywrightExecutorService(int nThreads, ThreadFactory threadFactory) {
+		this(nThreads, nThreads, threadFactory);
+	}
+	
+	/**
+	 * Constructs a {@link PlaywrightExecutorService} that may grow up to {@code maximumPoolSize} threads by raising its core pool size, 
+	 * and starts {@code corePoolSize} threads concurrently.
+	 */
+	PlaywrightExecutorService(int corePoolSize, int maximumPoolSize, ThreadFactory threadFactory) {
+		super(corePoolSize, maximumPoolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), Objects.requireNonNull(threadFactory, "threadFactory"));
+		
+		List<CompletableFuture<PlaywrightThread>> startup = new ArrayList<>(corePoolSize);
+		for(int i = 0; i < corePoolSize; i++) startup.add(new CompletableFuture<>());
+		this.startup = Collections.unmodifiableList(startup);
+		setThreadFactory(r -> register(threadFactory.newThread(r)));
+		
+		for(int i = 0; i < corePoolSize; i++) {
+			Thread starter = new Thread(this::start, "PlaywrightExecutorService-starter-" + i);
+			starter.setDaemon(true);
+			starter.start();
+		}
+	}
+	
+	private PlaywrightThread register(Thread t) {
+		if(!(t instanceof PlaywrightThread)) {
+			throw new IllegalArgumentException("threadFactory must produce PlaywrightThreads! Received " + t.getClass().getName() + " instead.");
+		}
+		PlaywrightThread thread = (PlaywrightThread) t;
+		CompletableFuture<PlaywrightThread> future = claim();
+		thread.ready().whenComplete((ready, e) -> {
+			if(e != null) initFailures.add(unwrap(e));
+			if(future == null) return;
+			if(e != null) future.completeExceptionally(unwrap(e));
+			else future.complete(ready);
+		});
+		threads.add(thread);
+		if(thread.options().hibernateAfter != null) startHibernator(thread.options().hibernateAfter);
+		return thread;
+	}
+	
+	/**
+	 * Returns the next unclaimed startup future, or {@code null} once the first {@code corePoolSize} threads have been created. 
+	 * A core thread may be created by a starter or by a caller of {@link #execute(Runnable)}, whichever comes first.
+	 */
+	private CompletableFuture<PlaywrightThread> claim() {
+		int i;
+		do {
+			i = registered.get();
+			if(i >= startup.size()) return null;
+		} while(!registered.compareAndSet(i, i + 1));
+		return startup.get(i);
+	}
+	
+	/**
+	 * Periodically hands a {@link Hibernation} to each idle thread. As idle threads wait for tasks in order, the longest idle threads 
+	 * receive them first.
+	 */
+	private synchronized void startHibernator(Duration hibernateAfter) {
+		if(hibernator != null) return;
+		hibernator = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "PlaywrightExecutorService-hibernator");
+			t.setDaemon(true);
+			return t;
+		});
+		long interval = Math.min(Math.max(hibernateAfter.toNanos() / 2, TimeUnit.MILLISECONDS.toNanos(100)), TimeUnit.SECONDS.toNanos(30));
+		hibernator.scheduleWithFixedDelay(() -> {
+			if(isShutdown()) {
+				hibernator.shutdown();
+				return;
+			}
+			if(!getQueue().isEmpty() || pendingHibernations.get() > 0) return;
+			int idle = getPoolSize() - getActiveCount();
+			for(int i = 0; i < idle; i++) {
+				pendingHibernations.incrementAndGet();
+				try {
+					execute(new Hibernation());
+				}
+				catch(RejectedExecutionException e) {
+					pendingHibernations.decrementAndGet();
+					return;
+				}
+			}
+		}, interval, interval, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Returns the threads of this pool that are still alive.
+	 */
+	final List<PlaywrightThread> liveThreads() {
+		threads.removeIf(t -> t.getState() == Thread.State.TERMINATED);
+		return new ArrayList<>(threads);
+	}
+	
+	private void start() {
+		try {
+			// false if a caller of execute(Runnable) already created the remaining core threads, which then claimed the futures
+			if(!prestartCoreThread() && isShutdown()) {
+				RejectedExecutionException e = new RejectedExecutionException("PlaywrightExecutorService was shut down before all threads started.");
+				for(CompletableFuture<PlaywrightThread> future = claim(); future != null; future = claim()) {
+					future.completeExceptionally(e);
+				}
+			}
+		}
+		catch(RuntimeException | Error e) {
+			// newThread failed, there is no thread to report a readiness failure
+			initFailures.add(e);
+			CompletableFuture<PlaywrightThread> future = claim();
+			if(future != null) future.completeExceptionally(e);
+		}
+	}
+	
+	private static Throwable unwrap(Throwable t) {
+		return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+	}
+	
+	/**
+	 * Blocks until all threads started at construction are ready, any of them fails to initialise, or the timeout elapses.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The {@link TimeUnit} of the {@code timeout} argument.
+	 * @return {@code true} if all threads are ready, {@code false} if the timeout elapsed or any thread failed to initialise.
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+		try {
+			CompletableFuture.allOf(startup.toArray(new CompletableFuture<?>[0])).get(timeout, unit);
+			return true;
+		}
+		catch(ExecutionException | TimeoutException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Returns the number of threads started at construction that are ready.
+	 * @return The number of ready threads.
+	 */
+	public int readyThreads() {
+		int ready = 0;
+		for(CompletableFuture<PlaywrightThread> future : startup) {
+			if(future.isDone() && !future.isCompletedExceptionally()) ready++;
+		}
+		return ready;
+	}
+	
+	/**
+	 * Returns the initialisation failures of the threads of this {@link PlaywrightExecutorService}, in the order they occurred.
+	 * @return An unmodifiable snapshot of the initialisation failures.
+	 */
+	public List<Throwable> initFailures() {
+		return Collections.unmodifiableList(new ArrayList<>(initFailures));
+	}
+	
+	/**
+	 * Submits a task that is given the {@link PlaywrightThread} running it and returns its result through a {@link CompletableFuture}. 
+	 * Unlike {@link #submit(java.util.concurrent.Callable)}, this neither requires casting {@link Thread#currentThread()} nor blocking 
+	 * the caller, which lets many callers, e.g. thousands of virtual threads on Java 21, share a few {@link PlaywrightThread}s. For example:
+	 * 
+	 * <pre>
+	 * CompletableFuture&lt;String&gt; title = executor.supply(t -&gt; {
+	 *     Page page = t.chromium().newPage();
+	 *     page.navigate("https://playwright.dev");
+	 *     return page.title();
+	 * });
+	 * </pre>
+	 * 
+	 * The returned {@link CompletableFuture} completes on the {@link PlaywrightThread}, so dependent stages without an explicit executor
+	 * also run on it and should be short. Cancelling the {@link CompletableFuture} before the task starts prevents it from running.
+	 * @param <T> The result type of the task.
+	 * @param task The task.
+	 * @return A {@link CompletableFuture} of the result of the task.
+	 * @throws RejectedExecutionException If this executor is shut down.
+	 * @throws NullPointerException If {@code task} is {@code null}.
+	 */
+	public <T> CompletableFuture<T> supply(Function<? super PlaywrightThread, ? extends T> task) {
+		Objects.requireNonNull(task, "task");
+		CompletableFuture<T> future = new CompletableFuture<>();
+		execute(new CompletingTask<>(task, future));
+		return future;
+	}
+	
+	/**
+	 * Submits a task that is given the {@link PlaywrightThread} running it and returns a {@link CompletableFuture} that completes when 
+	 * the task completes. See {@link #supply(Function)} for details.
+	 * @param task The task.
+	 * @return A {@link CompletableFuture} that completes when the task completes.
+	 * @throws RejectedExecutionException If this executor is shut down.
+	 * @throws NullPointerException If {@code task} is {@code null}.
+	 */
+	public CompletableFuture<Void> run(Consumer<? super PlaywrightThread> task) {
+		Objects.requireNonNull(task, "task");
+		return supply(t -> {
+			task.accept(t);
+			return null;
+		});
+	}
+	
+	@Override
+	protected void beforeExecute(Thread t, Runnable r) {
+		super.beforeExecute(t, r);
+		r = unwrap(r);
+		if(r instanceof Hibernation) return;
+		PlaywrightThread thread = (PlaywrightThread) t;
+		thread.beforeTask();
+		Duration timeout = thread.options().taskTimeout;
+		if(timeout != null) thread.watch(expiry(r, timeout));
+	}
+	
+	/**
+	 * Returns how the given task is failed once it overran its deadline.
+	 */
+	static Runnable expiry(Runnable r, Duration timeout) {
+		if(r instanceof CompletingTask) {
+			CompletableFuture<?> future = ((CompletingTask<?>) r).future;
+			return () -> future.completeExceptionally(new TimeoutException("The task did not complete within " + timeout + "."));
+		}
+		if(r instanceof Future) {
+			Future<?> future = (Future<?>) r;
+			return () -> future.cancel(false);  // the thread is interrupted anyway
+		}
+		return () -> {};
+	}
+	
+	@Override
+	protected void afterExecute(Runnable r, Throwable t) {
+		super.afterExecute(r, t);
+		r = unwrap(r);
+		if(!(r instanceof Hibernation)) ((PlaywrightThread) Thread.currentThread()).afterTask(t != null || failed(r));
+	}
+	
+	/**
+	 * {@inheritDoc} The {@link CompletableFuture}s of tasks submitted via {@link #supply(Function)} or {@link #run(Consumer)} that 
+	 * never commenced execution are cancelled, so that their callers do not wait forever.
+	 */
+	@Override
+	public List<Runnable> shutdownNow() {
+		List<Runnable> tasks = new ArrayList<>();
+		for(Runnable r : super.shutdownNow()) {
+			r = unwrap(r);
+			if(r instanceof Hibernation) continue;
+			if(r instanceof CompletingTask) ((CompletingTask<?>) r).cancel();
+			tasks.add(r);
+		}
+		return tasks;
+	}
+	
+	/**
+	 * Shuts this executor down as fast as possible: tasks that have not started are discarded, running tasks are interrupted as by 
+	 * {@link #shutdownNow()}, and all threads close their browsers concurrently. Threads that are still alive once the timeout elapses, 
+	 * e.g. because they are blocked in a Playwright call that hangs, have their driver and browser processes killed, which makes the 
+	 * blocked calls fail so that the threads terminate. The timeout then applies once more to wait for them.
+	 * @param timeout The maximum time to wait before and after killing the processes.
+	 * @param unit The {@link TimeUnit} of the {@code timeout} argument.
+	 * @return {@code true} if this executor terminated, {@code false} if threads were still alive after both timeouts.
+	 * @throws InterruptedException If interrupted while waiting.
+	 * @see PlaywrightThreadOptions#setCloseTimeout(java.time.Duration)
+	 */
+	public boolean terminate(long timeout, TimeUnit unit) throws InterruptedException {
+		shutdownNow();
+		if(awaitTermination(timeout, unit)) return true;
+		killLiveThreads();
+		return awaitTermination(timeout, unit);
+	}
+	
+	/**
+	 * Kills the driver and browser processes of all threads of this pool that are still alive.
+	 */
+	final void killLiveThreads() {
+		for(PlaywrightThread t : liveThreads()) {
+			t.kill();
+		}
+	}
+	
+	/**
+	 * Returns the task submitted by the user for a task in the queue of this executor.
+	 */
+	Runnable unwrap(Runnable r) {
+		return r;
+	}
+	
+	/**
+	 * Returns whether the given task completed exceptionally. Tasks submitted via {@code submit} are wrapped in a {@link Future}
+	 * that captures their exception instead of throwing it.
+	 */
+	static boolean failed(Runnable r) {
+		if(r instanceof CompletingTask) return ((CompletingTask<?>) r).future.isCompletedExceptionally();
+		if(!(r instanceof Future) || !((Future<?>) r).isDone()) return false;
+		try {
+			((Future<?>) r).get();
+			return false;
+		}
+		catch(ExecutionException | CancellationException e) {
+			return true;
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	/**
+	 * An internal task that makes the thread running it hibernate if it has been idle for long enough. Not counted as a task by the thread.
+	 */
+	private final class Hibernation implements Runnable {
+		
+		@Override
+		public void run() {
+			try {
+				((PlaywrightThread) Thread.currentThread()).hibernateIfIdle();
+			}
+			finally {
+				pendingHibernations.decrementAndGet();
+			}
+		}
+		
+	}
+	
+	/**
+	 * A task of {@link #supply(Function)} that completes its {@link CompletableFuture} with its result.
+	 */
+	static final class CompletingTask<T> implements Runnable {
+		
+		private final Function<? super PlaywrightThread, ? extends T> task;
+		final CompletableFuture<T> future;
+		
+		CompletingTask(Function<? super PlaywrightThread, ? extends T> task, CompletableFuture<T> future) {
+			this.task = task;
+			this.future = future;
+		}
+		
+		/**
+		 * Cancels the future of a task that will never run, e.g. because it was drained by {@code shutdownNow()}.
+		 */
+		void cancel() {
+			future.cancel(false);
+		}
+		
+		@Override
+		public void run() {
+			if(future.isDone()) return;  // cancelled
+			try {
+				future.complete(task.apply((PlaywrightThread) Thread.currentThread()));
+			}
+			catch(Throwable t) {
+				future.completeExceptionally(t);
+			}
+		}
+		
+	}
+
+}
@@ -24,12 +24,17 @@
 
 package io.github.dennisochulor.playwright_java_multithread;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Playwright;
-import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.PlaywrightException;
 
 /**
  * 
@@ -46,98 +51,788 @@ import com.microsoft.playwright.Playwright.CreateOptions;
  */
 public abstract class PlaywrightThread extends Thread {
 	
-	private final Playwright playwright;
-	private final Browser chromium;
-	private final Browser firefox;
-	private final Browser webkit;
-	private Runnable r;
+	private static final ThreadLocal<Boolean> FACTORY_CONSTRUCTION = new ThreadLocal<>();
+	
+	private final CompletableFuture<PlaywrightThread> ready = new CompletableFuture<>();
+	private final BrowserSlot chromium = new BrowserSlot("chromium", Playwright::chromium, () -> this.options);
+	private final BrowserSlot firefox = new BrowserSlot("firefox", Playwright::firefox, () -> this.options);
+	private final BrowserSlot webkit = new BrowserSlot("webkit", Playwright::webkit, () -> this.options);
+	private final Runnable r;
+	private PlaywrightThreadOptions options = new PlaywrightThreadOptions();
+	private Playwright playwright;
+	private boolean initialised;
+	private volatile Throwable initFailure;
+	private volatile long driverPid = ProcessTree.UNKNOWN;  // also read by executors
+	private long memoryChecked;
+	private long taskStarted;
+	private long idleSince = System.nanoTime();
+	private volatile boolean hibernated;
+	private boolean admitted;  // whether this thread is running a launch admitted by the LaunchPolicy
+	private long taskDeadline;  // 0 means the current task has no deadline
+	private TaskWatchdog watchdog;
+	private volatile boolean driverLost;  // the driver process was killed by a TaskWatchdog
 	
 	/**
-	 * This method is invoked each time a new instance of this {@link PlaywrightThread} is created. 
+	 * This method is invoked once for each instance of this {@link PlaywrightThread}, either by the {@link PlaywrightThreadFactory}
+	 * that creates it or, if {@link PlaywrightThreadOptions#setDeferredInit(boolean) deferred initialisation} is enabled, by the thread itself
+	 * when it starts.
 	 * @return the user-defined PlaywrightThreadInitPackage
 	 * @see PlaywrightThreadInitPackage
 	 * @see PlaywrightThreadInitPackage#PlaywrightThreadInitPackage(Playwright, Browser, Browser, Browser)
 	 */
 	protected abstract PlaywrightThreadInitPackage init();
 	
+	/**
+	 * Binds the {@link Playwright} and {@link Browser} instances to this thread.
+	 */
+	@Internal
+	void bind() {
+		PlaywrightThreadInitPackage initPackage = init(); // overriden by internal classes
+		this.playwright = initPackage.playwright();
+		this.chromium.bind(initPackage.chromium());
+		this.firefox.bind(initPackage.firefox());
+		this.webkit.bind(initPackage.webkit());
+	}
+	
+	/**
+	 * Binds the given {@link Playwright} instance to this thread. The used browsers are launched on first access via {@link #launch(BrowserType)}.
+	 */
+	@Internal
+	final void bind(Playwright playwright, boolean chromium, boolean firefox, boolean webkit) {
+		this.playwright = playwright;
+		if(chromium) this.chromium.defer();
+		if(firefox) this.firefox.defer();
+		if(webkit) this.webkit.defer();
+	}
+	
+	/**
+	 * Launches a {@link Browser} of the given {@link BrowserType} for this thread. This method is invoked whenever this thread needs to launch
+	 * a {@link Browser} again after {@link #init()}, for example when {@link PlaywrightThreadOptions#setRecyclePolicy(RecyclePolicy) recycling}
+	 * a {@link Browser}. The default implementation throws {@link UnsupportedOperationException}, in which case the {@link Browser}s of this 
+	 * thread are never relaunched. Custom {@link PlaywrightThread}s should override this method to launch browsers the same way as {@link #init()}.
+	 * @param browserType The {@link BrowserType} to launch, e.g. {@code playwright().chromium()}
+	 * @return The launched {@link Browser}
+	 * @throws UnsupportedOperationException If this thread does not support relaunching browsers.
+	 */
+	protected Browser launch(BrowserType browserType) {
+		throw new UnsupportedOperationException(); // overriden by internal classes
+	}
+	
+	/**
+	 * Launches all pending browsers of this thread.
+	 */
+	@Internal
+	final void launchPending() {
+		for(BrowserSlot slot : slots()) {
+			if(slot.isPending()) slot.bind(timedLaunch(slot));
+		}
+	}
+	
+	/**
+	 * Launches a {@link Browser} for the given slot via {@link #launch(BrowserType)} and reports the launch to the {@link PlaywrightThreadMetrics}.
+	 */
+	private Browser timedLaunch(BrowserSlot slot) {
+		return admitted(() -> timedLaunchOnce(slot));
+	}
+	
+	private Browser timedLaunchOnce(BrowserSlot slot) {
+		long start = System.nanoTime();
+		try {
+			Browser browser = launch(slot.browserType(playwright));
+			options.metrics.browserLaunched(slot.name(), System.nanoTime() - start);
+			return browser;
+		}
+		catch(UnsupportedOperationException e) {
+			throw e;  // not a launch attempt
+		}
+		catch(RuntimeException | Error e) {
+			options.metrics.browserLaunchFailed(slot.name());
+			throw e;
+		}
+	}
+	
+	/**
+	 * Runs the given launch once the {@link LaunchPolicy} admits it, retrying it according to the policy if it fails. Launches within
+	 * an admitted launch, e.g. the browser launches of an initialisation, are part of it and run immediately.
+	 */
+	private <T> T admitted(Supplier<T> launch) {
+		LaunchPolicy policy = options.launchPolicy;
+		if(policy == null || admitted) return launch.get();
+		
+		for(int retry = 1; ; retry++) {
+			long queued = System.nanoTime();
+			try {
+				policy.acquire();
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new PlaywrightException("Interrupted while waiting to launch", e);
+			}
+			options.metrics.launchQueued(System.nanoTime() - queued);
+			
+			RuntimeException failure;
+			admitted = true;
+			try {
+				return launch.get();
+			}
+			catch(UnsupportedOperationException e) {
+				throw e;  // not a launch attempt
+			}
+			catch(RuntimeException e) {
+				failure = e;
+			}
+			finally {
+				admitted = false;
+				policy.release();
+			}
+			
+			if(retry > policy.maxRetries) throw failure;
+			try {
+				TimeUnit.NANOSECONDS.sleep(policy.backoffNanos(retry));
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw failure;
+			}
+		}
+	}
+	
+	/**
+	 * Closes all launched browsers and the {@link Playwright} instance of this thread. A failure to close one of them does not 
+	 * prevent the others from being closed, and is rethrown afterwards with any further failures suppressed.
+	 */
 	@Internal
-	PlaywrightThreadInitPackage init(CreateOptions createOptions, LaunchOptions launchOptions) {
-		throw new UnsupportedOperationException(); // to be overriden by internal classes
+	final void closeAll() {
+		Duration closeTimeout = options.closeTimeout;
+		CloseWatchdog watchdog = closeTimeout == null || playwright == null ? null : new CloseWatchdog(playwright, driverPid(), closeTimeout);
+		RuntimeException failure = null;
+		try {
+			for(BrowserSlot slot : slots()) {
+				try {
+					if(watchdog != null) watchdog.close(slot::close);
+					else slot.close();
+				}
+				catch(RuntimeException e) {
+					if(failure == null) failure = e;
+					else failure.addSuppressed(e);
+				}
+			}
+			try {
+				if(playwright != null) {
+					if(watchdog != null) watchdog.close(playwright::close);
+					else playwright.close();
+				}
+			}
+			catch(RuntimeException e) {
+				if(failure == null) failure = e;
+				else failure.addSuppressed(e);
+			}
+		}
+		finally {
+			if(watchdog != null && watchdog.killed()) options.metrics.threadKilled();
+			release();
+		}
+		if(failure != null) throw failure;
+	}
+	
+	/**
+	 * Forcibly kills the driver and browser processes of this thread, which makes pending Playwright calls of this thread fail.
+	 * Safe to call from any thread.
+	 */
+	@Internal
+	final void kill() {
+		ProcessTree.kill(playwright, driverPid());
+	}
+	
+	/**
+	 * Creates a new {@link Playwright} instance for this thread after the previous one was closed by hibernation. Only supported by threads
+	 * that override this method.
+	 */
+	@Internal
+	Playwright createPlaywright() {
+		throw new UnsupportedOperationException(); // overriden by internal classes
+	}
+	
+	/**
+	 * Releases resources held outside of the {@link Playwright} instance of this thread. Invoked after {@link #closeAll()}.
+	 */
+	@Internal
+	void release() {
+		// overriden by internal classes
+	}
+	
+	@Internal
+	final BrowserSlot[] slots() {
+		return new BrowserSlot[] { chromium, firefox, webkit };
+	}
+	
+	@Internal
+	final PlaywrightThreadOptions options() {
+		return options;
 	}
 
 	/**
-	 * Constructs a new {@link PlaywrightThread} instance using the values from {@link #init()}
+	 * Constructs a new {@link PlaywrightThread} instance and binds the values from {@link #init()} to it. When the thread is created by 
+	 * a {@link PlaywrightThreadFactory}, the factory binds them instead, according to its {@link PlaywrightThreadOptions}.
 	 * @param r The {@link Runnable} to run.
+	 * @throws RuntimeException If {@link #init()} fails.
 	 */
 	public PlaywrightThread(Runnable r) {
-		PlaywrightThreadInitPackage initPackage = init();
+		this(r, false);
+	}
+	
+	/**
+	 * Constructs a new {@link PlaywrightThread} instance, optionally deferring the binding of the values from {@link #init()} to the 
+	 * start of the thread, which then runs {@link #init()} on itself. Use {@link #ready()} to await the initialisation. When the thread
+	 * is created by a {@link PlaywrightThreadFactory}, the {@link PlaywrightThreadOptions#setDeferredInit(boolean) options} of the 
+	 * factory decide instead.
+	 * @param r The {@link Runnable} to run.
+	 * @param deferInit {@code true} to bind the values from {@link #init()} when this thread starts.
+	 * @throws RuntimeException If {@code deferInit} is {@code false} and {@link #init()} fails.
+	 */
+	protected PlaywrightThread(Runnable r, boolean deferInit) {
 		this.r = r;
-		this.playwright = initPackage.playwright();
-		this.chromium = initPackage.chromium();
-		this.firefox = initPackage.firefox();
-		this.webkit = initPackage.webkit();
+		if(!deferInit && FACTORY_CONSTRUCTION.get() == null) initialise();
 	}
 	
+	/**
+	 * Constructs a {@link PlaywrightThread} on behalf of a factory, which configures and initialises it afterwards.
+	 */
 	@Internal
-	PlaywrightThread(Runnable r, CreateOptions createOptions, LaunchOptions launchOptions) {
-		PlaywrightThreadInitPackage initPackage = init(createOptions, launchOptions);
-		this.r = r;
-		this.playwright = initPackage.playwright();
-		this.chromium = initPackage.chromium();
-		this.firefox = initPackage.firefox();
-		this.webkit = initPackage.webkit();
+	static <T extends PlaywrightThread, X extends Exception> T constructByFactory(Construction<T,X> constructor) throws X {
+		boolean outermost = FACTORY_CONSTRUCTION.get() == null;
+		FACTORY_CONSTRUCTION.set(Boolean.TRUE);
+		try {
+			return constructor.construct();
+		}
+		finally {
+			if(outermost) FACTORY_CONSTRUCTION.remove();
+		}
+	}
+	
+	/**
+	 * Constructor of a {@link PlaywrightThread} that may throw a checked exception, e.g. a reflective one.
+	 */
+	@Internal
+	@FunctionalInterface
+	interface Construction<T extends PlaywrightThread, X extends Exception> {
+		T construct() throws X;
+	}
+	
+	/**
+	 * Binds the values from {@link #init()} to this thread. Does nothing if this thread is already initialised.
+	 */
+	@Internal
+	final void initialise() {
+		if(initialised) return;
+		long start = System.nanoTime();
+		try {
+			admitted(() -> {
+				bind();
+				return null;
+			});
+			this.initialised = true;
+			this.initFailure = null;
+			this.idleSince = System.nanoTime();
+			options.metrics.threadInitialised(System.nanoTime() - start);
+			ready.complete(this);
+		}
+		catch(RuntimeException | Error e) {
+			options.metrics.threadInitFailed();
+			this.initFailure = e;
+			ready.completeExceptionally(e);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Applies the given {@link PlaywrightThreadOptions} to this thread and initialises it, unless initialisation is deferred.
+	 * @throws RuntimeException If initialisation fails.
+	 */
+	@Internal
+	final PlaywrightThread configure(PlaywrightThreadOptions options) {
+		this.options = options;
+		if(!options.deferredInit) {
+			try {
+				initialise();
+			}
+			catch(RuntimeException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return this;
+	}
+
+
+	/**
+	 * Invoked by executors of this package on this thread before each task. Retries a failed initialisation, relaunches crashed browsers
+	 * and recycles browsers according to the {@link RecyclePolicy}.
+	 */
+	@Internal
+	void beforeTask() {
+		try {
+			prepareTask();
+		}
+		finally {
+			taskStarted = System.nanoTime();  // relaunches are reported as launches, not as part of the task
+			Duration timeout = options.taskTimeout;
+			taskDeadline = timeout == null ? 0 : taskStarted + timeout.toNanos();
+		}
+	}
+	
+	/**
+	 * Invoked by executors of this package on this thread after {@link #beforeTask()} if tasks have a timeout.
+	 * @param fail Fails the task once its deadline has passed.
+	 */
+	@Internal
+	final void watch(Runnable fail) {
+		watchdog = TaskWatchdog.start(this, taskDeadline - System.nanoTime(), fail);
+	}
+	
+	/**
+	 * Derives the default timeout of the given {@link BrowserContext} from the deadline of the current task, so that Playwright itself
+	 * fails calls that would overrun the deadline.
+	 */
+	@Internal
+	final void applyDeadline(BrowserContext context) {
+		if(taskDeadline == 0) return;
+		long remaining = TimeUnit.NANOSECONDS.toMillis(taskDeadline - System.nanoTime());
+		context.setDefaultTimeout(Math.max(1, remaining));
+	}
+	
+	/**
+	 * Kills the driver and browser processes of this thread to unblock a task that overran its deadline. The {@link Playwright} instance 
+	 * is replaced before the next task. Safe to call from any thread.
+	 */
+	@Internal
+	final void killDriver() {
+		driverLost = true;
+		kill();
+	}
+	
+	private void prepareTask() {
+		if(!initialised) {
+			try {
+				initialise();
+			}
+			catch(RuntimeException e) {
+				// the accessors will report the failure to the task
+				return;
+			}
+		}
+		if(driverLost) replaceDriver();
+		if(hibernated) wake();
+		
+		if(options.relaunchOnCrash) {
+			dispatchPendingEvents();
+			for(BrowserSlot slot : slots()) {
+				if(slot.isCrashed()) recycle(slot);
+			}
+		}
+		
+		RecyclePolicy policy = options.recyclePolicy;
+		if(policy != null) {
+			boolean memoryExceeded = policy.maxMemory > 0 && memory() > policy.maxMemory;
+			for(BrowserSlot slot : slots()) {
+				if(slot.browser() != null && (memoryExceeded || policy.isDue(slot))) recycle(slot);
+			}
+		}
+	}
+	
+	/**
+	 * Makes Playwright dispatch the events that arrived while this thread was idle, such as the disconnection of a browser that crashed
+	 * between tasks. Playwright only dispatches events during a call that waits for the driver, so without this the disconnection 
+	 * would only surface as a failure of the next task. Creating and disposing an {@link com.microsoft.playwright.APIRequestContext 
+	 * APIRequestContext} is a cheap round-trip that involves no browser.
+	 */
+	private void dispatchPendingEvents() {
+		if(playwright == null) return;
+		try {
+			playwright.request().newContext().dispose();
+		}
+		catch(PlaywrightException e) {
+			// the driver is gone, which the task reports
+		}
+	}
+	
+	/**
+	 * Invoked by executors of this package on this thread after each task.
+	 * @param failed Whether the task threw an exception.
+	 */
+	@Internal
+	void afterTask(boolean failed) {
+		if(watchdog != null) {
+			watchdog.stop();
+			watchdog = null;
+		}
+		taskDeadline = 0;
+		options.metrics.taskCompleted(System.nanoTime() - taskStarted, failed);
+		for(BrowserSlot slot : slots()) {
+			slot.taskCompleted();
+		}
+		idleSince = System.nanoTime();
+	}
+	
+	/**
+	 * Invoked by executors of this package on this thread between tasks. Closes the browsers, and optionally the {@link Playwright} instance,
+	 * if this thread has been idle for longer than {@link PlaywrightThreadOptions#setHibernateAfter(Duration)} and can relaunch them.
+	 */
+	@Internal
+	final void hibernateIfIdle() {
+		Duration after = options.hibernateAfter;
+		if(!initialised || hibernated || after == null || System.nanoTime() - idleSince < after.toNanos() || !overrides("launch", BrowserType.class)) {
+			return;
+		}
+		long start = System.nanoTime();
+		hibernated = true;
+		for(BrowserSlot slot : slots()) {
+			try {
+				slot.close();  // the slot becomes pending
+			}
+			catch(PlaywrightException e) {
+				// the browser is already gone
+			}
+		}
+		if(options.hibernateDriver && playwright != null && overrides("createPlaywright")) {
+			try {
+				playwright.close();
+			}
+			catch(PlaywrightException e) {
+				// the driver is already gone
+			}
+			playwright = null;
+			driverPid = ProcessTree.UNKNOWN;
+		}
+		options.metrics.threadHibernated(System.nanoTime() - start);
+	}
+	
+	/**
+	 * Replaces the {@link Playwright} instance and browsers of this thread after its driver process was killed by a {@link TaskWatchdog}. 
+	 * Only supported by threads that can create {@link Playwright} instances, other threads report the failure to their tasks.
+	 */
+	private void replaceDriver() {
+		if(!overrides("createPlaywright")) return;
+		for(BrowserSlot slot : slots()) {
+			try {
+				slot.close();  // the slot becomes pending
+			}
+			catch(PlaywrightException e) {
+				// the browser died with the driver
+			}
+		}
+		try {
+			if(playwright != null) playwright.close();
+		}
+		catch(PlaywrightException e) {
+			// the driver is already gone
+		}
+		playwright = null;
+		driverPid = ProcessTree.UNKNOWN;
+		try {
+			playwright = createPlaywright();
+			driverLost = false;
+			if(!options.lazyLaunch) launchPending();
+		}
+		catch(RuntimeException e) {
+			// retried before the next task, lazily launched browsers report the failure to the task
+		}
+	}
+	
+	/**
+	 * Relaunches the browsers closed by {@link #hibernateIfIdle()}, unless they are launched lazily.
+	 */
+	private void wake() {
+		long start = System.nanoTime();
+		try {
+			if(playwright == null) playwright = createPlaywright();
+			if(!options.lazyLaunch) launchPending();
+			hibernated = false;
+			options.metrics.threadWoken(System.nanoTime() - start);
+		}
+		catch(RuntimeException e) {
+			// lazily launched browsers report the failure to the task, waking up is retried before the next task
+		}
+	}
+	
+	/**
+	 * Returns whether the class of this thread overrides the given method of {@link PlaywrightThread}.
+	 */
+	private boolean overrides(String name, Class<?>... parameterTypes) {
+		for(Class<?> c = getClass(); c != PlaywrightThread.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, parameterTypes);
+				return true;
+			}
+			catch(NoSuchMethodException e) {
+				// try the superclass
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Launches a replacement for the {@link Browser} of the given slot, then closes the old one. The old one is kept if the launch fails.
+	 * Also used to relaunch crashed browsers.
+	 */
+	private void recycle(BrowserSlot slot) {
+		Browser replacement;
+		try {
+			replacement = timedLaunch(slot);
+		}
+		catch(UnsupportedOperationException | PlaywrightException e) {
+			return;
+		}
+		slot.replace(replacement);
+	}
+	
+	/**
+	 * Returns the resident memory of the driver and browser processes of this thread, checked at most once per second, 
+	 * or {@link ProcessTree#UNKNOWN}.
+	 */
+	private long memory() {
+		long now = System.nanoTime();
+		if(now - memoryChecked < TimeUnit.SECONDS.toNanos(1)) return ProcessTree.UNKNOWN;
+		memoryChecked = now;
+		return ProcessTree.rss(driverPid());
+	}
+	
+	@Internal
+	final long driverPid() {
+		if(driverPid == ProcessTree.UNKNOWN && playwright != null) driverPid = ProcessTree.driverPid(playwright);
+		return driverPid;
 	}
 
 
 	@Override
 	public final void run() {
+		options.metrics.threadStarted();
 		try {  // try-with-resources using variables only Java 9+ :(
+			try {
+				initialise();  // no-op unless initialisation was deferred
+			}
+			catch(RuntimeException e) {
+				// still run r so that executors can keep track of this thread, the accessors will report the failure
+			}
+			
 			if(r != null) {
 				r.run();
 			}
 		}
 		
 		finally {
-			if(chromium != null) chromium.close();
-			if(firefox != null) firefox.close();
-			if(webkit != null) webkit.close();
-			playwright.close();  // cannot be null
+			long start = System.nanoTime();
+			try {
+				if(initialised) closeAll();  // only closes browsers that were actually launched
+			}
+			finally {
+				options.metrics.threadTerminated(System.nanoTime() - start);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the current thread as a {@link PlaywrightThread}, e.g. inside a task of a {@link PlaywrightExecutorService}.
+	 * @return The current {@link PlaywrightThread}
+	 * @throws IllegalStateException If the current thread is not a {@link PlaywrightThread}.
+	 * @see PlaywrightExecutorService#supply(java.util.function.Function)
+	 */
+	public static PlaywrightThread current() {
+		Thread t = Thread.currentThread();
+		if(t instanceof PlaywrightThread) return (PlaywrightThread) t;
+		if(ThreadSupport.isVirtual(t)) {
+			throw new IllegalStateException("Virtual threads cannot use Playwright, submit the work to a PlaywrightExecutorService via supply(Function) instead.");
 		}
+		throw new IllegalStateException(t.getName() + " is not a PlaywrightThread.");
+	}
+	
+	/**
+	 * Returns a {@link CompletableFuture} that completes with this thread once its {@link Playwright} and {@link Browser} instances are ready,
+	 * or completes exceptionally if initialisation fails. This is mainly useful for threads with 
+	 * {@link PlaywrightThreadOptions#setDeferredInit(boolean) deferred initialisation}, as other threads are already initialised when created.
+	 * @return The readiness {@link CompletableFuture} of this thread.
+	 */
+	public final CompletableFuture<PlaywrightThread> ready() {
+		return ready.thenApply(t -> t);  // prevents callers from completing the underlying future
 	}
 	
 	/**
 	 * Returns the {@link Playwright} instance of this thread.
-	 * @return The {@link Playwright} instance
+	 * @return The {@link Playwright} instance, or {@code null} if this thread is hibernating without it.
+	 * @throws IllegalStateException If the initialisation of this thread failed or has not completed yet.
 	 */
 	public final Playwright playwright() {
+		checkInitialised();
 		return playwright;
 	}
 	
 	/**
 	 * Returns the Chromium {@link Browser} instance of this thread.
 	 * @return The Chromium {@link Browser}
+	 * If {@link PlaywrightThreadOptions#setLazyLaunch(boolean) lazy launching} is enabled, the browser is launched on first access.
+	 * If the browser has crashed, it is relaunched when this method is called by this thread.
 	 * @throws NullPointerException If this implementation of {@link PlaywrightThread} does not utilise the Chromium browser.
+	 * @throws IllegalStateException If the initialisation of this thread failed or has not completed yet, or if the browser has not 
+	 * been launched yet and this method is not called by this thread.
 	 */
 	public final Browser chromium() {
-		return Objects.requireNonNull(chromium, "The configuration of " + this.getClass().getName() + " does not use chromium.");
+		return browser(chromium);
 	}
 	
 	/**
 	 * Returns the Firefox {@link Browser} instance of this thread.
 	 * @return The Firefox {@link Browser}
+	 * If {@link PlaywrightThreadOptions#setLazyLaunch(boolean) lazy launching} is enabled, the browser is launched on first access.
+	 * If the browser has crashed, it is relaunched when this method is called by this thread.
 	 * @throws NullPointerException If this implementation of {@link PlaywrightThread} does not utilise the Firefox browser.
+	 * @throws IllegalStateException If the initialisation of this thread failed or has not completed yet, or if the browser has not 
+	 * been launched yet and this method is not called by this thread.
 	 */
 	public final Browser firefox() {
-		return Objects.requireNonNull(firefox, "The configuration of " + this.getClass().getName() + " does not use firefox.");
+		return browser(firefox);
 	}
 	
 	/**
 	 * Returns the Webkit {@link Browser} instance of this thread.
 	 * @return The Webkit {@link Browser}
+	 * If {@link PlaywrightThreadOptions#setLazyLaunch(boolean) lazy launching} is enabled, the browser is launched on first access.
+	 * If the browser has crashed, it is relaunched when this method is called by this thread.
 	 * @throws NullPointerException If this implementation of {@link PlaywrightThread} does not utilise the Webkit browser.
+	 * @throws IllegalStateException If the initialisation of this thread failed or has not completed yet, or if the browser has not 
+	 * been launched yet and this method is not called by this thread.
 	 */
 	public final Browser webkit() {
-		return Objects.requireNonNull(webkit, "The configuration of " + this.getClass().getName() + " does not use webkit.");
+		return browser(webkit);
+	}
+	
+	/**
+	 * Leases a {@link BrowserContext} of the given {@link Browser} from the context pool of this thread. Closing the returned lease
+	 * resets the {@link BrowserContext} and returns it to the pool, which avoids creating a new {@link BrowserContext} for every task.
+	 * The pool is disabled by default, in which case each lease creates a new {@link BrowserContext} that is closed with the lease.
+	 * @param browser A {@link Browser} of this thread, e.g. {@code chromium()}
+	 * @return The {@link BrowserContextLease}
+	 * @throws IllegalArgumentException If {@code browser} is not a {@link Browser} of this thread.
+	 * @throws IllegalStateException If not called by this thread.
+	 * @see PlaywrightThreadOptions#setContextPoolSize(int)
+	 */
+	public final BrowserContextLease leaseContext(Browser browser) {
+		BrowserSlot slot = slotOf(browser);
+		BrowserContextLease lease = new BrowserContextLease(this, slot, browser, slot.contexts().acquire(browser, options));
+		applyDeadline(lease.context());
+		return lease;
+	}
+	
+	/**
+	 * Leases an open {@link Page} of the given {@link Browser} from the page pool of this thread. Closing the returned lease removes the
+	 * listeners and routes added to the {@link Page}, navigates it to {@code about:blank} and returns it to the pool, which avoids opening
+	 * a new {@link Page} for every task. The pool is disabled by default, in which case each lease opens a new {@link Page} that is closed
+	 * with the lease.
+	 * @param browser A {@link Browser} of this thread, e.g. {@code chromium()}
+	 * @return The {@link PageLease}
+	 * @throws IllegalArgumentException If {@code browser} is not a {@link Browser} of this thread.
+	 * @throws IllegalStateException If not called by this thread.
+	 * @see PlaywrightThreadOptions#setPagePoolSize(int)
+	 */
+	public final PageLease leasePage(Browser browser) {
+		BrowserSlot slot = slotOf(browser);
+		PageLease lease = new PageLease(this, slot, browser, slot.pages().acquire(browser, options));
+		applyDeadline(lease.page().context());
+		return lease;
+	}
+	
+	/**
+	 * Creates a {@link PagePipeline} that drives up to {@code maxInFlight} {@link Page}s of the given {@link Browser} concurrently 
+	 * on this thread, so that this thread is not idle while a page waits on the network.
+	 * @param browser A {@link Browser} of this thread, e.g. {@code chromium()}
+	 * @param maxInFlight The maximum number of pages loading at the same time.
+	 * @return The {@link PagePipeline}, which must be closed.
+	 * @throws IllegalArgumentException If {@code browser} is not a {@link Browser} of this thread, or {@code maxInFlight <= 0}.
+	 * @throws IllegalStateException If not called by this thread.
+	 */
+	public final PagePipeline pipeline(Browser browser, int maxInFlight) {
+		slotOf(browser);
+		return new PagePipeline(this, browser, maxInFlight);
+	}
+	
+	@Internal
+	final BrowserSlot slotOf(Browser browser) {
+		checkOwner();
+		for(BrowserSlot slot : slots()) {
+			if(browser != null && slot.browser() == browser) return slot;
+		}
+		throw new IllegalArgumentException("The given browser does not belong to " + getName() + ".");
+	}
+	
+	@Internal
+	final void checkOwner() {
+		if(Thread.currentThread() != this) {
+			throw new IllegalStateException("This operation can only be performed by " + getName() + ".");
+		}
+	}
+	
+	/**
+	 * Returns whether this thread is hibernating, i.e. has closed its browsers after being idle. 
+	 * @return {@code true} if this thread is hibernating.
+	 * @see PlaywrightThreadOptions#setHibernateAfter(Duration)
+	 */
+	public final boolean isHibernating() {
+		return hibernated;
+	}
+	
+	/**
+	 * Returns how many times the browsers of this thread disconnected without being closed, e.g. because the browser process crashed 
+	 * or was killed.
+	 * @return The number of browser crashes.
+	 */
+	public final int browserCrashes() {
+		int crashes = 0;
+		for(BrowserSlot slot : slots()) {
+			crashes += slot.crashes();
+		}
+		return crashes;
+	}
+	
+	/**
+	 * Returns how many times this thread relaunched a crashed browser.
+	 * @return The number of browser relaunches.
+	 * @see PlaywrightThreadOptions#setRelaunchOnCrash(boolean)
+	 */
+	public final int browserRelaunches() {
+		int relaunches = 0;
+		for(BrowserSlot slot : slots()) {
+			relaunches += slot.relaunches();
+		}
+		return relaunches;
+	}
+	
+	private Browser browser(BrowserSlot slot) {
+		checkInitialised();
+		if(slot.isCrashed() && options.relaunchOnCrash && Thread.currentThread() == this) {
+			Browser replacement;
+			try {
+				replacement = timedLaunch(slot);
+			}
+			catch(UnsupportedOperationException e) {
+				return slot.browser();  // this thread cannot relaunch browsers
+			}
+			slot.replace(replacement);
+		}
+		if(slot.isPending() && playwright != null) {
+			if(Thread.currentThread() != this) {
+				throw new IllegalStateException("The " + slot.name() + " browser of " + getName() + " can only be launched by " + getName() + ".");
+			}
+			slot.bind(timedLaunch(slot));
+		}
+		return Objects.requireNonNull(slot.browser(), "The configuration of " + this.getClass().getName() + " does not use " + slot.name() + ".");
+	}
+	
+	private void checkInitialised() {
+		Throwable t = initFailure;
+		if(t != null) {
+			throw new IllegalStateException("The initialisation of " + getName() + " failed.", t);
+		}
+		if(!ready.isDone()) {
+			throw new IllegalStateException(getName() + " is not initialised yet, await ready() first.");
+		}
 	}
 	
 	
@@ -24,9 +24,12 @@
 
 package io.github.dennisochulor.playwright_java_multithread;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
 import com.microsoft.playwright.BrowserType.LaunchOptions;
 import com.microsoft.playwright.Playwright.CreateOptions;
@@ -34,21 +37,31 @@ import com.microsoft.playwright.Playwright.CreateOptions;
 /**
  * 
  * This class is an implementation of {@link ThreadFactory} for {@link PlaywrightThread}s. Useful static factory methods are
- * provided to get common implementations of {@link PlaywrightThread}s. 
+ * provided to get common implementations of {@link PlaywrightThread}s. <br><br>
+ * The factory methods for locally launched browsers verify once per JVM that the Playwright driver starts and that the browsers are 
+ * installed, and throw an {@link IllegalStateException} if they are not. The {@link com.microsoft.playwright.Playwright Playwright} 
+ * instances of the produced threads then skip the installation check. Browsers launched from a custom executable path or channel are 
+ * not verified.
  *
  */
 public final class PlaywrightThreadFactory implements ThreadFactory {
 	
 	private final Class<? extends PlaywrightThread> clazz;
+	private final PlaywrightThreadOptions options;
+	private volatile Constructor<? extends PlaywrightThread> constructor;  // looked up once on first use
 	
-	private PlaywrightThreadFactory(Class<? extends PlaywrightThread> clazz) {
+	private PlaywrightThreadFactory(Class<? extends PlaywrightThread> clazz, PlaywrightThreadOptions options) {
 		this.clazz = Objects.requireNonNull(clazz, "clazz");
+		this.options = Objects.requireNonNull(options, "options");
 	}
 	
 	@Override
 	public final PlaywrightThread newThread(Runnable r) {
 		try {
-			return clazz.getConstructor(Runnable.class).newInstance(r);
+			Constructor<? extends PlaywrightThread> c = constructor;
+			if(c == null) constructor = c = clazz.getConstructor(Runnable.class);
+			Constructor<? extends PlaywrightThread> ctor = c;
+			return PlaywrightThread.constructByFactory(() -> ctor.newInstance(r)).configure(options);
 		} 
 		catch (InstantiationException e) {
 			throw new RuntimeException("Cannot instantiate an abstract class!",e);
@@ -61,6 +74,9 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 		} 
 		catch (NoSuchMethodException e) {
 			throw new RuntimeException("Constuctor " + e.getLocalizedMessage() + " must be public!",e);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
 		}	
 	}
 	
@@ -74,7 +90,7 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @return The default {@link ThreadFactory}
 	 */
 	public static ThreadFactory ofDefault() {
-		return new InternalPlaywrightThreadFactory(DefaultPlaywrightThread.class, new CreateOptions(), new LaunchOptions());
+		return InternalPlaywrightThreadFactory.launching(DefaultPlaywrightThread::new, new CreateOptions(), new LaunchOptions(), new PlaywrightThreadOptions(), true, true, true);
 	}
 	
 	/**
@@ -86,7 +102,20 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @throws NullPointerException if {@code createOptions} or {@code launchOptions} is {@code null}.
 	 */
 	public static ThreadFactory ofDefault(CreateOptions createOptions, LaunchOptions launchOptions) {
-		return new InternalPlaywrightThreadFactory(DefaultPlaywrightThread.class, createOptions, launchOptions);
+		return InternalPlaywrightThreadFactory.launching(DefaultPlaywrightThread::new, createOptions, launchOptions, new PlaywrightThreadOptions(), true, true, true);
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utitlise all three Playwright browsers
+	 * with the given configuration options.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param launchOptions The {@link LaunchOptions} for {@link com.microsoft.playwright.BrowserType#launch() BrowserType.launch(LaunchOptions)}
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code createOptions}, {@code launchOptions} or {@code options} is {@code null}.
+	 */
+	public static ThreadFactory ofDefault(CreateOptions createOptions, LaunchOptions launchOptions, PlaywrightThreadOptions options) {
+		return InternalPlaywrightThreadFactory.launching(DefaultPlaywrightThread::new, createOptions, launchOptions, options, true, true, true);
 	}
 	
 	
@@ -95,7 +124,7 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @return The {@link ThreadFactory} as described above. 
 	 */
 	public static ThreadFactory ofChromium() {
-		return new InternalPlaywrightThreadFactory(ChromiumPlaywrightThread.class, new CreateOptions(), new LaunchOptions());
+		return InternalPlaywrightThreadFactory.launching(ChromiumPlaywrightThread::new, new CreateOptions(), new LaunchOptions(), new PlaywrightThreadOptions(), true, false, false);
 	}
 	
 	/**
@@ -107,7 +136,56 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @throws NullPointerException if {@code createOptions} or {@code launchOptions} is {@code null}.
 	 */
 	public static ThreadFactory ofChromium(CreateOptions createOptions, LaunchOptions launchOptions) {
-		return new InternalPlaywrightThreadFactory(ChromiumPlaywrightThread.class, createOptions, launchOptions);
+		return InternalPlaywrightThreadFactory.launching(ChromiumPlaywrightThread::new, createOptions, launchOptions, new PlaywrightThreadOptions(), true, false, false);
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utitlise only the Chromium browser
+	 * with the given configuration options.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param launchOptions The {@link LaunchOptions} for {@link com.microsoft.playwright.BrowserType#launch() BrowserType.launch(LaunchOptions)}
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code createOptions}, {@code launchOptions} or {@code options} is {@code null}.
+	 */
+	public static ThreadFactory ofChromium(CreateOptions createOptions, LaunchOptions launchOptions, PlaywrightThreadOptions options) {
+		return InternalPlaywrightThreadFactory.launching(ChromiumPlaywrightThread::new, createOptions, launchOptions, options, true, false, false);
+	}
+	
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Chromium browser, where up to
+	 * {@code threadsPerBrowser} threads share a single Chromium process instead of each thread launching its own. Each thread connects to 
+	 * the shared process via {@link com.microsoft.playwright.BrowserType#connectOverCDP(String) BrowserType.connectOverCDP(String)} and 
+	 * creates its own contexts on it. The shared processes are launched on demand and closed once no thread uses them anymore. <br><br>
+	 * This trades some isolation between threads for a large reduction in memory usage and launch time: a crash of a shared 
+	 * process affects all threads connected to it.
+	 * @param threadsPerBrowser The maximum number of threads sharing one Chromium process.
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws IllegalArgumentException if {@code threadsPerBrowser <= 0}.
+	 */
+	public static ThreadFactory ofChromiumShared(int threadsPerBrowser) {
+		return ofChromiumShared(new CreateOptions(), new LaunchOptions(), threadsPerBrowser, new PlaywrightThreadOptions());
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Chromium browser, where up to
+	 * {@code threadsPerBrowser} threads share a single Chromium process, with the given configuration options. 
+	 * See {@link #ofChromiumShared(int)} for details.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param launchOptions The {@link LaunchOptions} for launching the shared Chromium processes
+	 * @param threadsPerBrowser The maximum number of threads sharing one Chromium process.
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code createOptions}, {@code launchOptions} or {@code options} is {@code null}.
+	 * @throws IllegalArgumentException if {@code threadsPerBrowser <= 0}.
+	 */
+	public static ThreadFactory ofChromiumShared(CreateOptions createOptions, LaunchOptions launchOptions, int threadsPerBrowser, PlaywrightThreadOptions options) {
+		Objects.requireNonNull(launchOptions, "launchOptions");
+		List<String> args = Objects.requireNonNull(options, "options").chromiumArgs();
+		CreateOptions verified = InstallCheck.verify(createOptions, launchOptions, null, null);
+		SharedChromium shared = new SharedChromium(verified, args.isEmpty() ? launchOptions : Options.withArgs(launchOptions, args), threadsPerBrowser);
+		return new InternalPlaywrightThreadFactory((r, c, l) -> new SharedChromiumPlaywrightThread(r, c, l, shared), verified, launchOptions, options);
 	}
 	
 	
@@ -116,7 +194,7 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @return The {@link ThreadFactory} as described above. 
 	 */
 	public static ThreadFactory ofFirefox() {
-		return new InternalPlaywrightThreadFactory(FirefoxPlaywrightThread.class, new CreateOptions(), new LaunchOptions());
+		return InternalPlaywrightThreadFactory.launching(FirefoxPlaywrightThread::new, new CreateOptions(), new LaunchOptions(), new PlaywrightThreadOptions(), false, true, false);
 	}
 	
 	/**
@@ -128,7 +206,20 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @throws NullPointerException if {@code createOptions} or {@code launchOptions} is {@code null}.
 	 */
 	public static ThreadFactory ofFirefox(CreateOptions createOptions, LaunchOptions launchOptions) {
-		return new InternalPlaywrightThreadFactory(FirefoxPlaywrightThread.class, createOptions, launchOptions);
+		return InternalPlaywrightThreadFactory.launching(FirefoxPlaywrightThread::new, createOptions, launchOptions, new PlaywrightThreadOptions(), false, true, false);
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utitlise only the Firefox browser
+	 * with the given configuration options.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param launchOptions The {@link LaunchOptions} for {@link com.microsoft.playwright.BrowserType#launch() BrowserType.launch(LaunchOptions)}
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code createOptions}, {@code launchOptions} or {@code options} is {@code null}.
+	 */
+	public static ThreadFactory ofFirefox(CreateOptions createOptions, LaunchOptions launchOptions, PlaywrightThreadOptions options) {
+		return InternalPlaywrightThreadFactory.launching(FirefoxPlaywrightThread::new, createOptions, launchOptions, options, false, true, false);
 	}
 	
 	
@@ -137,7 +228,7 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @return The {@link ThreadFactory} as described above. 
 	 */
 	public static ThreadFactory ofWebkit() {
-		return new InternalPlaywrightThreadFactory(WebkitPlaywrightThread.class, new CreateOptions(), new LaunchOptions());
+		return InternalPlaywrightThreadFactory.launching(WebkitPlaywrightThread::new, new CreateOptions(), new LaunchOptions(), new PlaywrightThreadOptions(), false, false, true);
 	}
 	
 	/**
@@ -149,9 +240,194 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @throws NullPointerException if {@code createOptions} or {@code launchOptions} is {@code null}.
 	 */
 	public static ThreadFactory ofWebkit(CreateOptions createOptions, LaunchOptions launchOptions) {
-		return new InternalPlaywrightThreadFactory(WebkitPlaywrightThread.class, createOptions, launchOptions);
+		return InternalPlaywrightThreadFactory.launching(WebkitPlaywrightThread::new, createOptions, launchOptions, new PlaywrightThreadOptions(), false, false, true);
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utitlise only the Webkit browser
+	 * with the given configuration options.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param launchOptions The {@link LaunchOptions} for {@link com.microsoft.playwright.BrowserType#launch() BrowserType.launch(LaunchOptions)}
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code createOptions}, {@code launchOptions} or {@code options} is {@code null}.
+	 */
+	public static ThreadFactory ofWebkit(CreateOptions createOptions, LaunchOptions launchOptions, PlaywrightThreadOptions options) {
+		return InternalPlaywrightThreadFactory.launching(WebkitPlaywrightThread::new, createOptions, launchOptions, options, false, false, true);
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that launch each browser with its own {@link LaunchOptions}.
+	 * Browsers whose {@link LaunchOptions} are {@code null} are not used. For example, to use Chromium with a proxy and headed Firefox:
+	 * 
+	 * <pre>
+	 * ThreadFactory factory = PlaywrightThreadFactory.ofBrowsers(new CreateOptions(), 
+	 *                                      new LaunchOptions().setProxy("http://proxy:3128"), new LaunchOptions().setHeadless(false), null,
+	 *                                      new PlaywrightThreadOptions());
+	 * </pre>
+	 * 
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param chromium The {@link LaunchOptions} for the Chromium browser, or {@code null} if it is not used.
+	 * @param firefox The {@link LaunchOptions} for the Firefox browser, or {@code null} if it is not used.
+	 * @param webkit The {@link LaunchOptions} for the Webkit browser, or {@code null} if it is not used.
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code createOptions} or {@code options} is {@code null}, or all three {@link LaunchOptions} are {@code null}.
+	 */
+	public static ThreadFactory ofBrowsers(CreateOptions createOptions, LaunchOptions chromium, LaunchOptions firefox, LaunchOptions webkit, PlaywrightThreadOptions options) {
+		if(chromium == null && firefox == null && webkit == null) {
+			throw new NullPointerException("At least one browser must be non-null!");
+		}
+		Objects.requireNonNull(options, "options");
+		CreateOptions verified = InstallCheck.verify(createOptions, chromium, firefox, webkit);
+		return new InternalPlaywrightThreadFactory((r, c, l) -> new PerBrowserPlaywrightThread(r, c, chromium, firefox, webkit), verified, new LaunchOptions(), options);
 	}
 	
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Chromium browser, which is provided by
+	 * a Playwright browser server (e.g. one started with {@code npx playwright run-server}) instead of being launched locally. Each thread 
+	 * connects to one of the given endpoints via {@link com.microsoft.playwright.BrowserType#connect(String) BrowserType.connect(String)},
+	 * chosen according to {@code selection}. If the chosen endpoint cannot be reached, the other endpoints are tried in turn.
+	 * As no browser is launched locally, the {@link com.microsoft.playwright.Playwright Playwright} instances of these threads skip the 
+	 * browser installation check.
+	 * @param wsEndpoints The websocket endpoints of the browser servers.
+	 * @param selection How each thread chooses an endpoint.
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code wsEndpoints}, any of its elements or {@code selection} is {@code null}.
+	 * @throws IllegalArgumentException if {@code wsEndpoints} is empty.
+	 */
+	public static ThreadFactory ofChromiumRemote(List<String> wsEndpoints, EndpointSelection selection) {
+		return ofChromiumRemote(new CreateOptions(), wsEndpoints, selection, new PlaywrightThreadOptions());
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Chromium browser provided by a
+	 * Playwright browser server, with the given configuration options. See {@link #ofChromiumRemote(List, EndpointSelection)} for details.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param wsEndpoints The websocket endpoints of the browser servers.
+	 * @param selection How each thread chooses an endpoint.
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if any argument, or any element of {@code wsEndpoints} is {@code null}.
+	 * @throws IllegalArgumentException if {@code wsEndpoints} is empty.
+	 */
+	public static ThreadFactory ofChromiumRemote(CreateOptions createOptions, List<String> wsEndpoints, EndpointSelection selection, PlaywrightThreadOptions options) {
+		CreateOptions skipping = InstallCheck.skipping(Objects.requireNonNull(createOptions, "createOptions"));
+		EndpointPool endpoints = new EndpointPool(wsEndpoints, selection);
+		return new InternalPlaywrightThreadFactory((r, c, l) -> new RemotePlaywrightThread(r, c, true, false, false, endpoints), skipping, new LaunchOptions(), options);
+	}
+	
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Firefox browser, which is provided by
+	 * a Playwright browser server (e.g. one started with {@code npx playwright run-server}) instead of being launched locally. Each thread 
+	 * connects to one of the given endpoints via {@link com.microsoft.playwright.BrowserType#connect(String) BrowserType.connect(String)},
+	 * chosen according to {@code selection}. If the chosen endpoint cannot be reached, the other endpoints are tried in turn.
+	 * As no browser is launched locally, the {@link com.microsoft.playwright.Playwright Playwright} instances of these threads skip the 
+	 * browser installation check.
+	 * @param wsEndpoints The websocket endpoints of the browser servers.
+	 * @param selection How each thread chooses an endpoint.
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code wsEndpoints}, any of its elements or {@code selection} is {@code null}.
+	 * @throws IllegalArgumentException if {@code wsEndpoints} is empty.
+	 */
+	public static ThreadFactory ofFirefoxRemote(List<String> wsEndpoints, EndpointSelection selection) {
+		return ofFirefoxRemote(new CreateOptions(), wsEndpoints, selection, new PlaywrightThreadOptions());
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Firefox browser provided by a
+	 * Playwright browser server, with the given configuration options. See {@link #ofFirefoxRemote(List, EndpointSelection)} for details.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param wsEndpoints The websocket endpoints of the browser servers.
+	 * @param selection How each thread chooses an endpoint.
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if any argument, or any element of {@code wsEndpoints} is {@code null}.
+	 * @throws IllegalArgumentException if {@code wsEndpoints} is empty.
+	 */
+	public static ThreadFactory ofFirefoxRemote(CreateOptions createOptions, List<String> wsEndpoints, EndpointSelection selection, PlaywrightThreadOptions options) {
+		CreateOptions skipping = InstallCheck.skipping(Objects.requireNonNull(createOptions, "createOptions"));
+		EndpointPool endpoints = new EndpointPool(wsEndpoints, selection);
+		return new InternalPlaywrightThreadFactory((r, c, l) -> new RemotePlaywrightThread(r, c, false, true, false, endpoints), skipping, new LaunchOptions(), options);
+	}
+	
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Webkit browser, which is provided by
+	 * a Playwright browser server (e.g. one started with {@code npx playwright run-server}) instead of being launched locally. Each thread 
+	 * connects to one of the given endpoints via {@link com.microsoft.playwright.BrowserType#connect(String) BrowserType.connect(String)},
+	 * chosen according to {@code selection}. If the chosen endpoint cannot be reached, the other endpoints are tried in turn.
+	 * As no browser is launched locally, the {@link com.microsoft.playwright.Playwright Playwright} instances of these threads skip the 
+	 * browser installation check.
+	 * @param wsEndpoints The websocket endpoints of the browser servers.
+	 * @param selection How each thread chooses an endpoint.
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code wsEndpoints}, any of its elements or {@code selection} is {@code null}.
+	 * @throws IllegalArgumentException if {@code wsEndpoints} is empty.
+	 */
+	public static ThreadFactory ofWebkitRemote(List<String> wsEndpoints, EndpointSelection selection) {
+		return ofWebkitRemote(new CreateOptions(), wsEndpoints, selection, new PlaywrightThreadOptions());
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s that utilise only the Webkit browser provided by a
+	 * Playwright browser server, with the given configuration options. See {@link #ofWebkitRemote(List, EndpointSelection)} for details.
+	 * @param createOptions The {@link CreateOptions} for {@link com.microsoft.playwright.Playwright#create(CreateOptions) Playwright.create(CreateOptions)}
+	 * @param wsEndpoints The websocket endpoints of the browser servers.
+	 * @param selection How each thread chooses an endpoint.
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if any argument, or any element of {@code wsEndpoints} is {@code null}.
+	 * @throws IllegalArgumentException if {@code wsEndpoints} is empty.
+	 */
+	public static ThreadFactory ofWebkitRemote(CreateOptions createOptions, List<String> wsEndpoints, EndpointSelection selection, PlaywrightThreadOptions options) {
+		CreateOptions skipping = InstallCheck.skipping(Objects.requireNonNull(createOptions, "createOptions"));
+		EndpointPool endpoints = new EndpointPool(wsEndpoints, selection);
+		return new InternalPlaywrightThreadFactory((r, c, l) -> new RemotePlaywrightThread(r, c, false, false, true, endpoints), skipping, new LaunchOptions(), options);
+	}
+	
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s initialised with the {@link PlaywrightThreadInitPackage}s 
+	 * of the given {@link Supplier}, which is invoked once per thread instead of {@link PlaywrightThread#init()}. This avoids writing a 
+	 * {@link PlaywrightThread} subclass, and allows each thread to be configured differently. For example, to give each thread its own proxy:
+	 * 
+	 * <pre>
+	 * AtomicInteger next = new AtomicInteger();
+	 * ThreadFactory factory = PlaywrightThreadFactory.ofSupplier(() -&gt; {
+	 *     Playwright playwright = Playwright.create();
+	 *     String proxy = proxies.get(next.getAndIncrement() % proxies.size());
+	 *     Browser chromium = playwright.chromium().launch(new LaunchOptions().setProxy(proxy));
+	 *     return new PlaywrightThreadInitPackage(playwright, chromium, null, null);
+	 * });
+	 * </pre>
+	 * 
+	 * As with {@link #ofCustom(Class) custom} {@link PlaywrightThread}s, the browsers of these threads are not relaunched when they are
+	 * recycled or crash.
+	 * @param init The {@link Supplier} of the {@link PlaywrightThreadInitPackage}s, must be thread-safe.
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code init} is {@code null}.
+	 */
+	public static ThreadFactory ofSupplier(Supplier<PlaywrightThreadInitPackage> init) {
+		return ofSupplier(init, new PlaywrightThreadOptions());
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces {@link PlaywrightThread}s initialised with the {@link PlaywrightThreadInitPackage}s 
+	 * of the given {@link Supplier}, with the given options. See {@link #ofSupplier(Supplier)} for details.
+	 * @param init The {@link Supplier} of the {@link PlaywrightThreadInitPackage}s, must be thread-safe.
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code init} or {@code options} is {@code null}.
+	 */
+	public static ThreadFactory ofSupplier(Supplier<PlaywrightThreadInitPackage> init, PlaywrightThreadOptions options) {
+		Objects.requireNonNull(init, "init");
+		return new InternalPlaywrightThreadFactory((r, c, l) -> new SuppliedPlaywrightThread(r, init), new CreateOptions(), new LaunchOptions(), options);
+	}
+	
+	
 	/**
 	 * Returns a {@link ThreadFactory} that produces custom user-defined {@link PlaywrightThread}s.
 	 * Custom {@link PlaywrightThread}s can be created by extending the {@link PlaywrightThread} class. For example:
@@ -182,7 +458,19 @@ public final class PlaywrightThreadFactory implements ThreadFactory {
 	 * @throws NullPointerException if {@code clazz} is {@code null}.
 	 */
 	public static ThreadFactory ofCustom(Class<? extends PlaywrightThread> clazz) {
-		return new PlaywrightThreadFactory(clazz);
+		return new PlaywrightThreadFactory(clazz, new PlaywrightThreadOptions());
+	}
+	
+	/**
+	 * Returns a {@link ThreadFactory} that produces custom user-defined {@link PlaywrightThread}s with the given options.
+	 * See {@link #ofCustom(Class)} for how to create custom {@link PlaywrightThread}s.
+	 * @param clazz The user-defined {@link PlaywrightThread} class literal e.g. {@code CustomPlaywrightThread.class}
+	 * @param options The {@link PlaywrightThreadOptions} for the produced {@link PlaywrightThread}s
+	 * @return The {@link ThreadFactory} as described above.
+	 * @throws NullPointerException if {@code clazz} or {@code options} is {@code null}.
+	 */
+	public static ThreadFactory ofCustom(Class<? extends PlaywrightThread> clazz, PlaywrightThreadOptions options) {
+		return new PlaywrightThreadFactory(clazz, options);
 	}
 
 }
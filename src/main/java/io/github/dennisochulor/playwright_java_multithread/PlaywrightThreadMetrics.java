@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+/**
+ * 
+ * This interface receives measurements from {@link PlaywrightThread}s: how long their initialisation, browser launches, tasks and 
+ * shutdown take, and how many of them and their browsers are alive. All methods have empty default implementations, so implementations
+ * only need to override the measurements they are interested in. Methods are invoked by the {@link PlaywrightThread}s themselves and must
+ * therefore be thread-safe and fast. <br><br>
+ * Metrics are configured per factory via {@link PlaywrightThreadOptions#setMetrics(PlaywrightThreadMetrics)}. 
+ * {@link JmxPlaywrightThreadMetrics} is an implementation that publishes the measurements as a JMX MBean.
+ * 
+ * @see JmxPlaywrightThreadMetrics
+ *
+ */
+public interface PlaywrightThreadMetrics {
+	
+	/**
+	 * Invoked when a {@link PlaywrightThread} starts running.
+	 */
+	default void threadStarted() {}
+	
+	/**
+	 * Invoked when a {@link PlaywrightThread} has been initialised, i.e. its {@link com.microsoft.playwright.Playwright Playwright} 
+	 * instance has been created and its browsers have been launched, unless launched lazily.
+	 * @param nanos The duration of the initialisation in nanoseconds.
+	 */
+	default void threadInitialised(long nanos) {}
+	
+	/**
+	 * Invoked when the initialisation of a {@link PlaywrightThread} fails.
+	 */
+	default void threadInitFailed() {}
+	
+	/**
+	 * Invoked when a {@link PlaywrightThread} terminates, after its browsers and {@link com.microsoft.playwright.Playwright Playwright} 
+	 * instance have been closed.
+	 * @param closeNanos The duration of closing the browsers and the {@link com.microsoft.playwright.Playwright Playwright} instance in nanoseconds.
+	 */
+	default void threadTerminated(long closeNanos) {}
+	
+	/**
+	 * Invoked when closing the browsers or {@link com.microsoft.playwright.Playwright Playwright} instance of a terminating 
+	 * {@link PlaywrightThread} timed out and its processes were killed.
+	 * @see PlaywrightThreadOptions#setCloseTimeout(java.time.Duration)
+	 */
+	default void threadKilled() {}
+	
+	/**
+	 * Invoked when a {@link PlaywrightThread} has launched (or connected to) a browser via 
+	 * {@link PlaywrightThread#launch(com.microsoft.playwright.BrowserType)}.
+	 * @param browserType The name of the browser type, i.e. {@code chromium}, {@code firefox} or {@code webkit}.
+	 * @param nanos The duration of the launch in nanoseconds.
+	 */
+	default void browserLaunched(String browserType, long nanos) {}
+	
+	/**
+	 * Invoked when the initialisation of a {@link PlaywrightThread} or a browser launch was admitted by the {@link LaunchPolicy} of the thread.
+	 * @param nanos How long the launch waited for admission in nanoseconds.
+	 * @see PlaywrightThreadOptions#setLaunchPolicy(LaunchPolicy)
+	 */
+	default void launchQueued(long nanos) {}
+	
+	/**
+	 * Invoked when launching (or connecting to) a browser fails.
+	 * @param browserType The name of the browser type, i.e. {@code chromium}, {@code firefox} or {@code webkit}.
+	 */
+	default void browserLaunchFailed(String browserType) {}
+	
+	/**
+	 * Invoked when a browser becomes available to a {@link PlaywrightThread}, regardless of how it was launched.
+	 * @param browserType The name of the browser type, i.e. {@code chromium}, {@code firefox} or {@code webkit}.
+	 */
+	default void browserOpened(String browserType) {}
+	
+	/**
+	 * Invoked when a browser is no longer available to a {@link PlaywrightThread} because it was closed or replaced.
+	 * @param browserType The name of the browser type, i.e. {@code chromium}, {@code firefox} or {@code webkit}.
+	 */
+	default void browserClosed(String browserType) {}
+	
+	/**
+	 * Invoked when a {@link PlaywrightThread} of a {@link PlaywrightExecutorService} completes a task.
+	 * @param nanos The duration of the task in nanoseconds.
+	 * @param failed {@code true} if the task threw an exception.
+	 */
+	default void taskCompleted(long nanos, boolean failed) {}
+	
+	/**
+	 * Invoked when a task of a {@link PlaywrightThread} overran its deadline and was failed.
+	 * @see PlaywrightThreadOptions#setTaskTimeout(java.time.Duration)
+	 */
+	default void taskTimedOut() {}
+	
+	/**
+	 * Invoked when an idle {@link PlaywrightThread} has closed its browsers to hibernate.
+	 * @param nanos The duration of closing the browsers in nanoseconds.
+	 * @see PlaywrightThreadOptions#setHibernateAfter(java.time.Duration)
+	 */
+	default void threadHibernated(long nanos) {}
+	
+	/**
+	 * Invoked when a hibernating {@link PlaywrightThread} has woken up for a task.
+	 * @param nanos The duration of waking up, i.e. of relaunching the browsers unless they are launched lazily, in nanoseconds.
+	 */
+	default void threadWoken(long nanos) {}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.Map;
+
+/**
+ * 
+ * The JMX management interface of {@link JmxPlaywrightThreadMetrics}. Latencies are reported in milliseconds, percentiles are accurate
+ * within a factor of two. Per browser type values are keyed by {@code chromium}, {@code firefox} and {@code webkit}.
+ *
+ */
+public interface PlaywrightThreadMetricsMXBean {
+	
+	/** @return The number of running {@link PlaywrightThread}s. */
+	long getActiveThreads();
+	
+	/** @return The number of initialised {@link PlaywrightThread}s. */
+	long getInitCount();
+	
+	/** @return The number of failed {@link PlaywrightThread} initialisations. */
+	long getInitFailureCount();
+	
+	/** @return The mean initialisation latency. */
+	double getInitLatencyMeanMillis();
+	
+	/** @return The 99th percentile of the initialisation latency. */
+	double getInitLatencyP99Millis();
+	
+	/** @return The maximum initialisation latency. */
+	double getInitLatencyMaxMillis();
+	
+	/** @return The number of browser launches per browser type. */
+	Map<String, Long> getLaunchCounts();
+	
+	/** @return The number of failed browser launches per browser type. */
+	Map<String, Long> getLaunchFailureCounts();
+	
+	/** @return The mean browser launch latency per browser type. */
+	Map<String, Double> getLaunchLatencyMeanMillis();
+	
+	/** @return The 99th percentile of the browser launch latency per browser type. */
+	Map<String, Double> getLaunchLatencyP99Millis();
+	
+	/** @return The number of open browsers per browser type. */
+	Map<String, Long> getLiveBrowsers();
+	
+	/** @return The number of completed tasks. */
+	long getTaskCount();
+	
+	/** @return The number of tasks that threw an exception. */
+	long getTaskFailureCount();
+	
+	/** @return The mean time launches waited for admission by a {@link LaunchPolicy}. */
+	double getLaunchQueueLatencyMeanMillis();
+	
+	/** @return The 99th percentile of the time launches waited for admission by a {@link LaunchPolicy}. */
+	double getLaunchQueueLatencyP99Millis();
+	
+	/** @return The number of tasks that overran their deadline. */
+	long getTaskTimeoutCount();
+	
+	/** @return The mean task latency. */
+	double getTaskLatencyMeanMillis();
+	
+	/** @return The median task latency. */
+	double getTaskLatencyP50Millis();
+	
+	/** @return The 99th percentile of the task latency. */
+	double getTaskLatencyP99Millis();
+	
+	/** @return The maximum task latency. */
+	double getTaskLatencyMaxMillis();
+	
+	/** @return The mean latency of closing the browsers and Playwright instance of a terminating {@link PlaywrightThread}. */
+	double getCloseLatencyMeanMillis();
+	
+	/** @return The maximum latency of closing the browsers and Playwright instance of a terminating {@link PlaywrightThread}. */
+	double getCloseLatencyMaxMillis();
+	
+	/** @return The number of terminating {@link PlaywrightThread}s whose processes were killed because closing them timed out. */
+	long getKilledThreads();
+	
+	/** @return The number of times a {@link PlaywrightThread} hibernated. */
+	long getHibernationCount();
+	
+	/** @return The number of times a hibernating {@link PlaywrightThread} woke up. */
+	long getWakeCount();
+	
+	/** @return The mean latency of waking up a hibernating {@link PlaywrightThread}. */
+	double getWakeLatencyMeanMillis();
+	
+	/** @return The 99th percentile of the latency of waking up a hibernating {@link PlaywrightThread}. */
+	double getWakeLatencyP99Millis();
+
+}
@@ -0,0 +1,345 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Browser.NewContextOptions;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+/**
+ * This class holds additional configuration options for the {@link PlaywrightThread}s produced by a {@link PlaywrightThreadFactory}.
+ * Like Playwright's own option classes, options are set by chaining setter methods. For example:
+ * 
+ * <pre>
+ * ThreadFactory factory = PlaywrightThreadFactory.ofChromium(new CreateOptions(), new LaunchOptions(),
+ *                                      new PlaywrightThreadOptions().setDeferredInit(true));
+ * </pre>
+ * 
+ * @see PlaywrightThreadFactory
+ */
+public final class PlaywrightThreadOptions {
+	
+	boolean deferredInit;
+	boolean lazyLaunch;
+	int contextPoolSize;
+	NewContextOptions contextOptions;
+	Consumer<BrowserContext> contextReset;
+	int pagePoolSize;
+	int pageMaxUses;
+	Duration pageMaxAge;
+	RecyclePolicy recyclePolicy;
+	boolean relaunchOnCrash = true;
+	PlaywrightThreadMetrics metrics = NO_METRICS;
+	Duration hibernateAfter;
+	boolean hibernateDriver;
+	Duration closeTimeout;
+	LaunchPolicy launchPolicy;
+	Duration taskTimeout;
+	ThroughputProfile throughputProfile;
+	StaticAssetCache assetCache;
+	
+	private static final PlaywrightThreadMetrics NO_METRICS = new PlaywrightThreadMetrics() {};
+	
+	/**
+	 * Sets whether {@link PlaywrightThread}s are initialised on the thread itself when it starts, instead of inside 
+	 * {@link ThreadFactory#newThread(Runnable)}. With deferred initialisation, {@link ThreadFactory#newThread(Runnable)} returns 
+	 * immediately and the {@link com.microsoft.playwright.Playwright Playwright} instance is created on the thread that uses it. 
+	 * Use {@link PlaywrightThread#ready()} to await the initialisation. Defaults to {@code false}.
+	 * @param deferredInit {@code true} to defer initialisation to the start of the thread.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setDeferredInit(boolean deferredInit) {
+		this.deferredInit = deferredInit;
+		return this;
+	}
+	
+	/**
+	 * Sets whether the browsers of {@link PlaywrightThread}s are launched on first access via {@link PlaywrightThread#chromium()},
+	 * {@link PlaywrightThread#firefox()} or {@link PlaywrightThread#webkit()} instead of during initialisation. Browsers that are never
+	 * accessed are never launched, which saves startup time and memory when tasks only use some of the browsers of a thread.
+	 * The browsers are always launched by the {@link PlaywrightThread} itself. Defaults to {@code false}. <br><br>
+	 * This option has no effect on {@link PlaywrightThreadFactory#ofCustom(Class) custom PlaywrightThreads}, which launch their browsers
+	 * in {@link PlaywrightThread#init()}.
+	 * @param lazyLaunch {@code true} to launch browsers on first access.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setLazyLaunch(boolean lazyLaunch) {
+		this.lazyLaunch = lazyLaunch;
+		return this;
+	}
+	
+	/**
+	 * Sets the maximum number of idle {@link BrowserContext}s each {@link Browser} of a {@link PlaywrightThread} keeps for reuse by
+	 * {@link PlaywrightThread#leaseContext(Browser)}. Returned contexts are reset instead of closed, which saves a round-trip to the browser
+	 * and keeps the caches of the context warm. Defaults to {@code 0}, which disables the pool.
+	 * @param contextPoolSize The maximum number of idle {@link BrowserContext}s per {@link Browser}.
+	 * @return This {@link PlaywrightThreadOptions}
+	 * @throws IllegalArgumentException If {@code contextPoolSize} is negative.
+	 */
+	public PlaywrightThreadOptions setContextPoolSize(int contextPoolSize) {
+		if(contextPoolSize < 0) throw new IllegalArgumentException("contextPoolSize must not be negative!");
+		this.contextPoolSize = contextPoolSize;
+		return this;
+	}
+	
+	/**
+	 * Sets the {@link NewContextOptions} of the {@link BrowserContext}s created by {@link PlaywrightThread#leaseContext(Browser)}.
+	 * Defaults to {@code null}, which uses Playwright's defaults.
+	 * @param contextOptions The {@link NewContextOptions} for {@link Browser#newContext(NewContextOptions)}
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setContextOptions(NewContextOptions contextOptions) {
+		this.contextOptions = contextOptions;
+		return this;
+	}
+	
+	/**
+	 * Sets how a pooled {@link BrowserContext} is reset when its lease is closed. The default reset clears cookies and permissions, 
+	 * closes all pages but the first, clears the web storage, IndexedDB databases, cache storage and service workers of every origin
+	 * the context navigated to during the lease and navigates the first page to {@code about:blank}. Routes, init scripts, bindings
+	 * and extra HTTP headers added to the context itself carry over into the next lease, see {@link BrowserContextLease}.
+	 * A reset that throws a {@link com.microsoft.playwright.PlaywrightException PlaywrightException} causes the context to be closed instead.
+	 * If it throws any other exception, the context is closed as well and the exception is rethrown by {@link BrowserContextLease#close()}.
+	 * @param contextReset The reset, or {@code null} for the default reset.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setContextReset(Consumer<BrowserContext> contextReset) {
+		this.contextReset = contextReset;
+		return this;
+	}
+	
+	/**
+	 * Sets the maximum number of idle {@link Page}s each {@link Browser} of a {@link PlaywrightThread} keeps for reuse by
+	 * {@link PlaywrightThread#leasePage(Browser)}. Returned pages are navigated to {@code about:blank} instead of closed, which saves a
+	 * round-trip to the renderer. Defaults to {@code 0}, which disables the pool.
+	 * @param pagePoolSize The maximum number of idle {@link Page}s per {@link Browser}.
+	 * @return This {@link PlaywrightThreadOptions}
+	 * @throws IllegalArgumentException If {@code pagePoolSize} is negative.
+	 */
+	public PlaywrightThreadOptions setPagePoolSize(int pagePoolSize) {
+		if(pagePoolSize < 0) throw new IllegalArgumentException("pagePoolSize must not be negative!");
+		this.pagePoolSize = pagePoolSize;
+		return this;
+	}
+	
+	/**
+	 * Sets the number of leases after which a pooled {@link Page} is closed instead of being reused. Defaults to {@code 0}, which means
+	 * no limit.
+	 * @param pageMaxUses The maximum number of leases per {@link Page}.
+	 * @return This {@link PlaywrightThreadOptions}
+	 * @throws IllegalArgumentException If {@code pageMaxUses} is negative.
+	 */
+	public PlaywrightThreadOptions setPageMaxUses(int pageMaxUses) {
+		if(pageMaxUses < 0) throw new IllegalArgumentException("pageMaxUses must not be negative!");
+		this.pageMaxUses = pageMaxUses;
+		return this;
+	}
+	
+	/**
+	 * Sets the age after which a pooled {@link Page} is closed instead of being reused. Defaults to {@code null}, which means no limit.
+	 * @param pageMaxAge The maximum age of a {@link Page}, or {@code null} for no limit.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setPageMaxAge(Duration pageMaxAge) {
+		this.pageMaxAge = pageMaxAge;
+		return this;
+	}
+	
+	/**
+	 * Sets the {@link RecyclePolicy} under which {@link PlaywrightThread}s close and relaunch their {@link Browser}s between tasks.
+	 * Only threads of a {@link PlaywrightExecutorService} are recycled. Defaults to {@code null}, which means browsers are never recycled.
+	 * @param recyclePolicy The {@link RecyclePolicy}, or {@code null} to disable recycling.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setRecyclePolicy(RecyclePolicy recyclePolicy) {
+		this.recyclePolicy = recyclePolicy;
+		return this;
+	}
+	
+	/**
+	 * Sets whether {@link PlaywrightThread}s relaunch a {@link Browser} that disconnected without being closed, e.g. because its process 
+	 * was killed by the OOM killer. A crashed {@link Browser} is relaunched with the original options before the next task of a 
+	 * {@link PlaywrightExecutorService}, or when it is next accessed by its thread. Crashes and relaunches are counted by
+	 * {@link PlaywrightThread#browserCrashes()} and {@link PlaywrightThread#browserRelaunches()}. Defaults to {@code true}.
+	 * @param relaunchOnCrash {@code true} to relaunch crashed browsers.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setRelaunchOnCrash(boolean relaunchOnCrash) {
+		this.relaunchOnCrash = relaunchOnCrash;
+		return this;
+	}
+	
+	/**
+	 * Sets the {@link PlaywrightThreadMetrics} that receive the measurements of {@link PlaywrightThread}s: initialisation, browser launch,
+	 * task and close latencies as well as the number of live threads and browsers. Task measurements are only available for threads of a
+	 * {@link PlaywrightExecutorService}. By default, no metrics are set and nothing is measured.
+	 * @param metrics The {@link PlaywrightThreadMetrics}, e.g. {@link JmxPlaywrightThreadMetrics#register(String)}, or {@code null} to disable metrics.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setMetrics(PlaywrightThreadMetrics metrics) {
+		this.metrics = metrics == null ? NO_METRICS : metrics;
+		return this;
+	}
+	
+	/**
+	 * Sets how long a {@link PlaywrightThread} of a {@link PlaywrightExecutorService} may be idle before it hibernates, i.e. closes its
+	 * {@link Browser}s while the thread itself stays in the pool. The browsers are relaunched before the next task of the thread, or on 
+	 * first access if {@link #setLazyLaunch(boolean) lazy launching} is enabled. Only threads that can relaunch their browsers hibernate, 
+	 * see {@link PlaywrightThread#launch(com.microsoft.playwright.BrowserType)}. Defaults to {@code null}, which means threads never hibernate.
+	 * @param hibernateAfter The idle time after which threads hibernate, or {@code null} to disable hibernation.
+	 * @return This {@link PlaywrightThreadOptions}
+	 * @throws IllegalArgumentException If {@code hibernateAfter} is not positive.
+	 * @see #setHibernateDriver(boolean)
+	 */
+	public PlaywrightThreadOptions setHibernateAfter(Duration hibernateAfter) {
+		if(hibernateAfter != null && (hibernateAfter.isNegative() || hibernateAfter.isZero())) {
+			throw new IllegalArgumentException("hibernateAfter must be positive!");
+		}
+		this.hibernateAfter = hibernateAfter;
+		return this;
+	}
+	
+	/**
+	 * Sets whether hibernating {@link PlaywrightThread}s also close their {@link com.microsoft.playwright.Playwright Playwright} instance, 
+	 * which stops its driver process, and create a new one when they wake up. This frees more memory but makes waking up slower, and 
+	 * {@link PlaywrightThread#playwright()} returns a new instance afterwards. Only the threads produced by the built-in factories of 
+	 * {@link PlaywrightThreadFactory} can do this. Defaults to {@code false}.
+	 * @param hibernateDriver {@code true} to also close the {@link com.microsoft.playwright.Playwright Playwright} instance.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setHibernateDriver(boolean hibernateDriver) {
+		this.hibernateDriver = hibernateDriver;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link LaunchPolicy} that limits how many {@link PlaywrightThread}s initialise and launch browsers at the same time, and 
+	 * retries failed launches. Without a policy, a failed initialisation makes {@link ThreadFactory#newThread(Runnable)} throw immediately.
+	 * Defaults to {@code null}, which means launches are neither limited nor retried.
+	 * @param launchPolicy The {@link LaunchPolicy}, or {@code null} to disable admission control.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setLaunchPolicy(LaunchPolicy launchPolicy) {
+		this.launchPolicy = launchPolicy;
+		return this;
+	}
+	
+	/**
+	 * Sets how long a terminating {@link PlaywrightThread} waits for each of its {@link Browser}s and its 
+	 * {@link com.microsoft.playwright.Playwright Playwright} instance to close. When a close does not return in time, the driver and browser
+	 * processes of the thread are killed, which makes the close fail instead of blocking the thread, and therefore 
+	 * {@link java.util.concurrent.ExecutorService#awaitTermination(long, java.util.concurrent.TimeUnit) awaitTermination}, indefinitely.
+	 * Defaults to {@code null}, which means closing is not bounded.
+	 * @param closeTimeout The timeout of each close, or {@code null} for no timeout.
+	 * @return This {@link PlaywrightThreadOptions}
+	 * @throws IllegalArgumentException If {@code closeTimeout} is not positive.
+	 * @see PlaywrightExecutorService#terminate(long, java.util.concurrent.TimeUnit)
+	 */
+	public PlaywrightThreadOptions setCloseTimeout(Duration closeTimeout) {
+		if(closeTimeout != null && (closeTimeout.isNegative() || closeTimeout.isZero())) {
+			throw new IllegalArgumentException("closeTimeout must be positive!");
+		}
+		this.closeTimeout = closeTimeout;
+		return this;
+	}
+	
+	/**
+	 * Sets the maximum duration of each task of a {@link PlaywrightExecutorService}. The {@link BrowserContext}s a task creates or leases
+	 * get a default timeout of the time remaining until its deadline, so that most Playwright calls fail by themselves instead of overrunning 
+	 * it. A task that is still running at its deadline, e.g. because it waits on a promise that never settles, is failed: the 
+	 * {@link java.util.concurrent.CompletableFuture CompletableFuture} of {@link PlaywrightExecutorService#supply(java.util.function.Function)}
+	 * completes with a {@link java.util.concurrent.TimeoutException TimeoutException}, the {@link java.util.concurrent.Future Future} of 
+	 * {@code submit} is cancelled, and the thread is interrupted. As interrupts do not unblock Playwright calls, the browser processes of 
+	 * the thread are killed if the task is still running 5 seconds later, and its driver process another 5 seconds later. This makes the 
+	 * blocked call fail and returns the thread to the pool, which relaunches the browsers and {@link com.microsoft.playwright.Playwright Playwright}
+	 * instance before its next task. Defaults to {@code null}, which means tasks have no time limit.
+	 * @param taskTimeout The maximum duration of a task, or {@code null} for no limit.
+	 * @return This {@link PlaywrightThreadOptions}
+	 * @throws IllegalArgumentException If {@code taskTimeout} is not positive.
+	 */
+	public PlaywrightThreadOptions setTaskTimeout(Duration taskTimeout) {
+		if(taskTimeout != null && (taskTimeout.isNegative() || taskTimeout.isZero())) {
+			throw new IllegalArgumentException("taskTimeout must be positive!");
+		}
+		this.taskTimeout = taskTimeout;
+		return this;
+	}
+	
+	/**
+	 * Sets the {@link ThroughputProfile} of {@link PlaywrightThread}s, which blocks unneeded requests of every {@link BrowserContext} the
+	 * threads create and tunes the launch arguments of Chromium. Defaults to {@code null}, which means nothing is blocked.
+	 * @param throughputProfile The {@link ThroughputProfile}, e.g. {@link ThroughputProfile#lean()}, or {@code null} to block nothing.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setThroughputProfile(ThroughputProfile throughputProfile) {
+		this.throughputProfile = throughputProfile;
+		return this;
+	}
+	
+	/**
+	 * Sets the {@link StaticAssetCache} that the {@link BrowserContext}s of {@link PlaywrightThread}s serve static assets from. The same
+	 * cache can be shared by the threads of several factories. Defaults to {@code null}, which means nothing is cached.
+	 * @param assetCache The {@link StaticAssetCache}, or {@code null} to disable caching.
+	 * @return This {@link PlaywrightThreadOptions}
+	 */
+	public PlaywrightThreadOptions setAssetCache(StaticAssetCache assetCache) {
+		this.assetCache = assetCache;
+		return this;
+	}
+	
+	/**
+	 * Returns the setup of every {@link BrowserContext} created by the {@link PlaywrightThread}s, or {@code null} if there is nothing to set up.
+	 */
+	Consumer<BrowserContext> contextSetup() {
+		Consumer<BrowserContext> setup = null;
+		if(taskTimeout != null) {
+			setup = context -> {
+				Thread t = Thread.currentThread();  // contexts are created by their thread
+				if(t instanceof PlaywrightThread) ((PlaywrightThread) t).applyDeadline(context);
+			};
+		}
+		StaticAssetCache cache = assetCache;
+		if(cache != null) setup = setup == null ? cache::install : setup.andThen(cache::install);
+		ThroughputProfile profile = throughputProfile;
+		if(profile != null && profile.blocks()) {
+			// routes registered last run first, so blocked requests never reach the cache
+			setup = setup == null ? profile::install : setup.andThen(profile::install);
+		}
+		return setup;
+	}
+	
+	List<String> chromiumArgs() {
+		ThroughputProfile profile = throughputProfile;
+		return profile != null ? profile.chromiumArgs : Collections.<String>emptyList();
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.playwright.Playwright;
+
+/**
+ * Utilities for the operating system processes behind a {@link Playwright} instance, i.e. its driver process and the browser processes
+ * launched by the driver. Process information is read from {@code /proc} and is therefore only available on Linux, elsewhere these 
+ * methods report that the information is unavailable.
+ */
+@Internal
+final class ProcessTree {
+	
+	static final long UNKNOWN = -1;
+	private static final Path PROC = Paths.get("/proc");
+	
+	private ProcessTree() {}
+	
+	/**
+	 * Returns the process id of the driver process of the given {@link Playwright} instance, or {@link #UNKNOWN}.
+	 */
+	static long driverPid(Playwright playwright) {
+		try {
+			Process process = driverProcess(playwright);
+			return process == null ? UNKNOWN : pid(process);
+		}
+		catch(ReflectiveOperationException | RuntimeException e) {
+			return UNKNOWN;  // e.g. a Playwright implementation without a local driver process
+		}
+	}
+	
+	private static Process driverProcess(Playwright playwright) throws ReflectiveOperationException {
+		Field field = playwright.getClass().getDeclaredField("driverProcess");
+		field.setAccessible(true);
+		return (Process) field.get(playwright);
+	}
+	
+	/**
+	 * Forcibly kills the driver process of the given {@link Playwright} instance together with the browser processes it launched, which
+	 * makes pending calls of the instance fail instead of hanging. Where process information is unavailable, only the driver process is killed,
+	 * which closes the connections of its browsers. Safe to call from any thread.
+	 * @param driverPid The process id of the driver process, or {@link #UNKNOWN}
+	 */
+	static void kill(Playwright playwright, long driverPid) {
+		if(killAll(tree(driverPid))) return;
+		try {
+			Process process = playwright == null ? null : driverProcess(playwright);
+			if(process != null) process.destroyForcibly();
+		}
+		catch(ReflectiveOperationException | RuntimeException e) {
+			// nothing to kill
+		}
+	}
+	
+	/**
+	 * Forcibly kills the browser processes launched by the given driver process, but not the driver itself, which makes pending calls 
+	 * on the browsers fail with a disconnection. Safe to call from any thread.
+	 * @return {@code false} if process information is unavailable or the processes could not be killed.
+	 */
+	static boolean killBrowsers(long driverPid) {
+		List<Long> tree = tree(driverPid);
+		return tree.size() > 1 && killAll(tree.subList(1, tree.size()));
+	}
+	
+	private static boolean killAll(List<Long> pids) {
+		if(pids.isEmpty()) return false;
+		List<String> command = new ArrayList<>();
+		command.add("kill");
+		command.add("-KILL");
+		for(long pid : pids) {
+			command.add(Long.toString(pid));
+		}
+		try {
+			Process kill = new ProcessBuilder(command).redirectErrorStream(true).start();
+			kill.getOutputStream().close();
+			return kill.waitFor(5, TimeUnit.SECONDS) && kill.exitValue() == 0;
+		}
+		catch(IOException e) {
+			return false;  // no kill command
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	private static long pid(Process process) throws ReflectiveOperationException {
+		try {
+			return (Long) Process.class.getMethod("pid").invoke(process);  // Java 9+
+		}
+		catch(NoSuchMethodException e) {
+			Field field = process.getClass().getDeclaredField("pid");  // Java 8 UNIXProcess
+			field.setAccessible(true);
+			return field.getInt(process);
+		}
+	}
+	
+	/**
+	 * Returns the given process and all of its descendants, parents before children. Empty if the process does not exist
+	 * or process information is unavailable.
+	 */
+	static List<Long> tree(long rootPid) {
+		List<Long> tree = new ArrayList<>();
+		if(rootPid == UNKNOWN || !Files.isDirectory(PROC.resolve(Long.toString(rootPid)))) return tree;
+		
+		Map<Long, List<Long>> children = new HashMap<>();
+		try(DirectoryStream<Path> stream = Files.newDirectoryStream(PROC, "[0-9]*")) {
+			for(Path dir : stream) {
+				long ppid = parentPid(dir);
+				if(ppid != UNKNOWN) {
+					children.computeIfAbsent(ppid, k -> new ArrayList<>()).add(Long.parseLong(dir.getFileName().toString()));
+				}
+			}
+		}
+		catch(IOException | RuntimeException e) {
+			return tree;
+		}
+		
+		Deque<Long> pending = new ArrayDeque<>();
+		pending.add(rootPid);
+		while(!pending.isEmpty()) {
+			long pid = pending.poll();
+			tree.add(pid);
+			pending.addAll(children.getOrDefault(pid, new ArrayList<>()));
+		}
+		return tree;
+	}
+	
+	/**
+	 * Returns the total resident set size in bytes of the given process and all of its descendants, or {@link #UNKNOWN}.
+	 */
+	static long rss(long rootPid) {
+		List<Long> tree = tree(rootPid);
+		if(tree.isEmpty()) return UNKNOWN;
+		long total = 0;
+		for(long pid : tree) {
+			total += Math.max(0, rssOf(pid));
+		}
+		return total;
+	}
+	
+	/**
+	 * Returns the memory in bytes available for starting new processes without swapping, or {@link #UNKNOWN}.
+	 */
+	static long memAvailable() {
+		try {
+			for(String line : Files.readAllLines(PROC.resolve("meminfo"), StandardCharsets.UTF_8)) {
+				if(line.startsWith("MemAvailable:")) {
+					String kb = line.substring("MemAvailable:".length()).trim().split("\\s+")[0];
+					return Long.parseLong(kb) * 1024;
+				}
+			}
+			return UNKNOWN;  // kernels before 3.14
+		}
+		catch(IOException | RuntimeException e) {
+			return UNKNOWN;
+		}
+	}
+	
+	private static long rssOf(long pid) {
+		try {
+			for(String line : Files.readAllLines(PROC.resolve(pid + "/status"), StandardCharsets.UTF_8)) {
+				if(line.startsWith("VmRSS:")) {
+					String kb = line.substring("VmRSS:".length()).trim().split("\\s+")[0];
+					return Long.parseLong(kb) * 1024;
+				}
+			}
+			return 0;  // kernel threads and zombies have no VmRSS
+		}
+		catch(IOException | RuntimeException e) {
+			return UNKNOWN;  // the process exited
+		}
+	}
+	
+	private static long parentPid(Path dir) {
+		try {
+			String stat = new String(Files.readAllBytes(dir.resolve("stat")), StandardCharsets.UTF_8);
+			// the process name in brackets may contain spaces, the fields after it are "state ppid ..."
+			String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+			return Long.parseLong(fields[1]);
+		}
+		catch(IOException | RuntimeException e) {
+			return UNKNOWN;  // the process exited
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+
+import com.microsoft.playwright.Browser;
+
+/**
+ * 
+ * This class describes when a {@link PlaywrightThread} closes and relaunches its {@link Browser}s to reclaim the memory they accumulate
+ * over time. Browsers are only recycled between tasks, by threads of a {@link PlaywrightExecutorService}. The replacement {@link Browser}
+ * is launched before the old one is closed, so tasks never find a browser missing. For example:
+ * 
+ * <pre>
+ * new PlaywrightThreadOptions().setRecyclePolicy(new RecyclePolicy().setMaxTasks(500).setMaxAge(Duration.ofHours(1)));
+ * </pre>
+ * 
+ * A {@link Browser} is recycled as soon as any of the configured limits is reached. {@link BrowserContextLease}s and {@link PageLease}s 
+ * of a recycled {@link Browser} should not outlive the task that obtained them. <br><br>
+ * Custom {@link PlaywrightThread}s are only recycled if they override {@link PlaywrightThread#launch(com.microsoft.playwright.BrowserType)}.
+ * 
+ * @see PlaywrightThreadOptions#setRecyclePolicy(RecyclePolicy)
+ *
+ */
+public final class RecyclePolicy {
+	
+	int maxTasks;
+	Duration maxAge;
+	long maxMemory;
+	
+	/**
+	 * Sets the number of tasks after which a {@link Browser} is recycled. Defaults to {@code 0}, which means no limit.
+	 * @param maxTasks The maximum number of tasks per {@link Browser}.
+	 * @return This {@link RecyclePolicy}
+	 * @throws IllegalArgumentException If {@code maxTasks} is negative.
+	 */
+	public RecyclePolicy setMaxTasks(int maxTasks) {
+		if(maxTasks < 0) throw new IllegalArgumentException("maxTasks must not be negative!");
+		this.maxTasks = maxTasks;
+		return this;
+	}
+	
+	/**
+	 * Sets the age after which a {@link Browser} is recycled. Defaults to {@code null}, which means no limit.
+	 * @param maxAge The maximum age of a {@link Browser}, or {@code null} for no limit.
+	 * @return This {@link RecyclePolicy}
+	 */
+	public RecyclePolicy setMaxAge(Duration maxAge) {
+		this.maxAge = maxAge;
+		return this;
+	}
+	
+	/**
+	 * Sets the total resident memory in bytes of the browser processes of a {@link PlaywrightThread} above which all of its {@link Browser}s
+	 * are recycled. The memory is read from {@code /proc}, so this limit only has an effect on Linux. Defaults to {@code 0}, which means no limit.
+	 * @param maxMemory The maximum resident memory in bytes.
+	 * @return This {@link RecyclePolicy}
+	 * @throws IllegalArgumentException If {@code maxMemory} is negative.
+	 */
+	public RecyclePolicy setMaxMemory(long maxMemory) {
+		if(maxMemory < 0) throw new IllegalArgumentException("maxMemory must not be negative!");
+		this.maxMemory = maxMemory;
+		return this;
+	}
+	
+	boolean isDue(BrowserSlot slot) {
+		return (maxTasks > 0 && slot.tasks() >= maxTasks)
+			|| (maxAge != null && System.nanoTime() - slot.launched() >= maxAge.toNanos());
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.PlaywrightException;
+
+@Internal
+final class RemotePlaywrightThread extends InternalPlaywrightThread {
+	
+	private final EndpointPool endpoints;
+	private int endpoint = -1;
+
+	RemotePlaywrightThread(Runnable r, CreateOptions createOptions, boolean chromium, boolean firefox, boolean webkit, EndpointPool endpoints) {
+		super(r, createOptions, new LaunchOptions(), chromium, firefox, webkit);
+		this.endpoints = endpoints;
+	}
+	
+	/**
+	 * Connects to a Playwright browser server instead of launching a browser. If the selected server cannot be reached, 
+	 * the other servers are tried in turn.
+	 */
+	@Override
+	protected Browser launch(BrowserType browserType) {
+		release();
+		Set<Integer> failed = new HashSet<>();
+		PlaywrightException failure = null;
+		while((endpoint = endpoints.acquire(failed)) != -1) {
+			try {
+				return browserType.connect(endpoints.endpoint(endpoint));
+			}
+			catch(PlaywrightException e) {
+				endpoints.release(endpoint);
+				failed.add(endpoint);
+				if(failure == null) failure = e;
+				else failure.addSuppressed(e);
+			}
+		}
+		throw failure;
+	}
+	
+	@Override
+	void release() {
+		if(endpoint != -1) {
+			endpoints.release(endpoint);
+			endpoint = -1;
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 
+ * This class describes how an {@link ElasticPlaywrightExecutorService} adds and removes {@link PlaywrightThread}s. The pool grows by one
+ * thread whenever the oldest queued task has waited longer than {@link #setScaleUpWait(Duration) scaleUpWait}, and shrinks by one thread
+ * whenever it has had idle threads and no queued tasks for {@link #setIdleTimeout(Duration) idleTimeout}. As each {@link PlaywrightThread}
+ * and its browsers take hundreds of megabytes, growth is also capped by memory: the pool does not grow if the memory available on the host
+ * would fall below {@link #setMinAvailableMemory(long) minAvailableMemory} after adding a thread, or if the browser processes of the pool
+ * already use {@link #setMaxMemory(long) maxMemory}. Memory is read from {@code /proc}, so the memory limits only have an effect on Linux. 
+ * For example:
+ * 
+ * <pre>
+ * new ScalingPolicy().setMinThreads(2).setMaxThreads(16).setMinAvailableMemory(2L * 1024 * 1024 * 1024);
+ * </pre>
+ * 
+ * @see ElasticPlaywrightExecutorService
+ *
+ */
+public final class ScalingPolicy {
+	
+	int minThreads = 1;
+	int maxThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+	Duration scaleUpWait = Duration.ofSeconds(1);
+	Duration idleTimeout = Duration.ofMinutes(1);
+	Duration interval = Duration.ofMillis(500);
+	long minAvailableMemory = 512L * 1024 * 1024;
+	long maxMemory;
+	
+	/**
+	 * Sets the number of threads the pool never shrinks below. These threads are started when the pool is constructed. With {@code 0}, 
+	 * the first thread is started when a task is submitted and kept until the pool has been idle for {@link #setIdleTimeout(Duration) 
+	 * idleTimeout}. Defaults to {@code 1}.
+	 * @param minThreads The minimum number of threads.
+	 * @return This {@link ScalingPolicy}
+	 * @throws IllegalArgumentException If {@code minThreads} is negative.
+	 */
+	public ScalingPolicy setMinThreads(int minThreads) {
+		if(minThreads < 0) throw new IllegalArgumentException("minThreads must not be negative!");
+		this.minThreads = minThreads;
+		return this;
+	}
+	
+	/**
+	 * Sets the number of threads the pool never grows beyond. Defaults to the number of available processors.
+	 * @param maxThreads The maximum number of threads.
+	 * @return This {@link ScalingPolicy}
+	 * @throws IllegalArgumentException If {@code maxThreads <= 0}.
+	 */
+	public ScalingPolicy setMaxThreads(int maxThreads) {
+		if(maxThreads <= 0) throw new IllegalArgumentException("maxThreads must be positive!");
+		this.maxThreads = maxThreads;
+		return this;
+	}
+	
+	/**
+	 * Sets how long the oldest queued task may wait before the pool adds a thread. Defaults to 1 second.
+	 * @param scaleUpWait The queue wait time that triggers growth.
+	 * @return This {@link ScalingPolicy}
+	 * @throws NullPointerException If {@code scaleUpWait} is {@code null}.
+	 */
+	public ScalingPolicy setScaleUpWait(Duration scaleUpWait) {
+		this.scaleUpWait = Objects.requireNonNull(scaleUpWait, "scaleUpWait");
+		return this;
+	}
+	
+	/**
+	 * Sets how long the pool must have idle threads and no queued tasks before it removes a thread. Defaults to 1 minute.
+	 * @param idleTimeout The idle time that triggers shrinking.
+	 * @return This {@link ScalingPolicy}
+	 * @throws NullPointerException If {@code idleTimeout} is {@code null}.
+	 */
+	public ScalingPolicy setIdleTimeout(Duration idleTimeout) {
+		this.idleTimeout = Objects.requireNonNull(idleTimeout, "idleTimeout");
+		return this;
+	}
+	
+	/**
+	 * Sets how often the pool checks whether to grow or shrink. Defaults to 500 milliseconds.
+	 * @param interval The interval between checks.
+	 * @return This {@link ScalingPolicy}
+	 * @throws IllegalArgumentException If {@code interval} is not positive.
+	 */
+	public ScalingPolicy setInterval(Duration interval) {
+		if(interval.isNegative() || interval.isZero()) throw new IllegalArgumentException("interval must be positive!");
+		this.interval = interval;
+		return this;
+	}
+	
+	/**
+	 * Sets the memory in bytes that must remain available on the host after adding a thread, where the memory a new thread needs is
+	 * estimated from the existing threads. Defaults to 512 MiB.
+	 * @param minAvailableMemory The minimum available memory in bytes, {@code 0} for no limit.
+	 * @return This {@link ScalingPolicy}
+	 * @throws IllegalArgumentException If {@code minAvailableMemory} is negative.
+	 */
+	public ScalingPolicy setMinAvailableMemory(long minAvailableMemory) {
+		if(minAvailableMemory < 0) throw new IllegalArgumentException("minAvailableMemory must not be negative!");
+		this.minAvailableMemory = minAvailableMemory;
+		return this;
+	}
+	
+	/**
+	 * Sets the total resident memory in bytes of the driver and browser processes of all threads of the pool, beyond which the pool 
+	 * does not grow. Defaults to {@code 0}, which means no limit.
+	 * @param maxMemory The maximum resident memory in bytes.
+	 * @return This {@link ScalingPolicy}
+	 * @throws IllegalArgumentException If {@code maxMemory} is negative.
+	 */
+	public ScalingPolicy setMaxMemory(long maxMemory) {
+		if(maxMemory < 0) throw new IllegalArgumentException("maxMemory must not be negative!");
+		this.maxMemory = maxMemory;
+		return this;
+	}
+
+}
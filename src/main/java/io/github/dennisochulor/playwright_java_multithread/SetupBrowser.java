@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Consumer;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+/**
+ * A {@link Browser} proxy which sets up every {@link BrowserContext} created through it, including the implicit contexts of 
+ * {@link Browser#newPage()}, before the context is handed out.
+ */
+@Internal
+final class SetupBrowser implements InvocationHandler {
+	
+	private final Browser browser;
+	private final Consumer<BrowserContext> setup;
+	
+	private SetupBrowser(Browser browser, Consumer<BrowserContext> setup) {
+		this.browser = browser;
+		this.setup = setup;
+	}
+	
+	/**
+	 * Returns the given {@link Browser} itself if there is nothing to set up.
+	 */
+	static Browser wrap(Browser browser, Consumer<BrowserContext> setup) {
+		if(setup == null) return browser;
+		return (Browser) Proxy.newProxyInstance(Browser.class.getClassLoader(), new Class<?>[] { Browser.class }, new SetupBrowser(browser, setup));
+	}
+	
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		String name = method.getName();
+		if(name.equals("equals") && args != null && args.length == 1) return proxy == args[0];
+		if(name.equals("hashCode") && args == null) return System.identityHashCode(proxy);
+		
+		Object result;
+		try {
+			result = method.invoke(browser, args);
+		}
+		catch(InvocationTargetException e) {
+			throw e.getCause();
+		}
+		
+		if(name.equals("newContext")) {
+			setUp((BrowserContext) result);
+		}
+		else if(name.equals("newPage")) {
+			// the page is still blank, so the setup of its context applies to all of its requests
+			setUp(((Page) result).context());
+		}
+		return result;
+	}
+	
+	private void setUp(BrowserContext context) {
+		try {
+			setup.accept(context);
+		}
+		catch(RuntimeException | Error e) {
+			context.close();
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,253 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * The Chromium processes shared by the {@link PlaywrightThread}s of one factory. Each process is launched with a remote debugging port
+ * by a dedicated host thread, and {@link PlaywrightThread}s attach to it with {@link com.microsoft.playwright.BrowserType#connectOverCDP(String)}.
+ * A process is shared by up to {@code threadsPerBrowser} threads and is closed once no thread is attached to it anymore. <br><br>
+ * Hosts are launched outside the lock, so threads attaching concurrently launch their processes concurrently, and threads that
+ * attach to a host which is still launching wait for it in {@link Host#endpoint()}.
+ */
+@Internal
+final class SharedChromium {
+	
+	private static final AtomicInteger HOST_COUNT = new AtomicInteger();
+	private static final int LAUNCH_ATTEMPTS = 3;
+	private static final int PROBE_TIMEOUT_MILLIS = 2000;
+	
+	private final CreateOptions createOptions;
+	private final LaunchOptions launchOptions;
+	private final int threadsPerBrowser;
+	private final List<Host> hosts = new ArrayList<>();  // guarded by this
+	
+	SharedChromium(CreateOptions createOptions, LaunchOptions launchOptions, int threadsPerBrowser) {
+		if(threadsPerBrowser <= 0) throw new IllegalArgumentException("threadsPerBrowser must be positive!");
+		this.createOptions = createOptions;
+		this.launchOptions = launchOptions;
+		this.threadsPerBrowser = threadsPerBrowser;
+	}
+	
+	/**
+	 * Attaches a thread to the least loaded Chromium process with spare capacity, launching a new one if there is none. Does not wait
+	 * for the launch, see {@link Host#endpoint()}.
+	 */
+	Host attach() {
+		Host host = null;
+		synchronized(this) {
+			for(Host h : hosts) {
+				if(h.attached < threadsPerBrowser && (host == null || h.attached < host.attached)) host = h;
+			}
+			if(host == null) {
+				host = new Host();  // a placeholder until its process has launched
+				hosts.add(host);
+				host.start(createOptions, launchOptions);
+			}
+			host.attached++;
+		}
+		return host;
+	}
+	
+	/**
+	 * Detaches a thread from the given host, which is closed once no thread is attached to it. Hosts that were already retired by
+	 * {@link #replace(Host)} are not closed again.
+	 */
+	synchronized void detach(Host host) {
+		host.attached--;
+		if(host.attached <= 0) retire(host);
+	}
+	
+	/**
+	 * Detaches a thread from the given host, whose Chromium process is dead, retires the host and attaches the thread to another one.
+	 */
+	Host replace(Host dead) {
+		synchronized(this) {
+			dead.attached--;
+			retire(dead);
+		}
+		return attach();
+	}
+	
+	private void retire(Host host) {
+		if(host.retired) return;
+		host.retired = true;
+		hosts.remove(host);
+		host.close();
+	}
+	
+	synchronized List<Host> hosts() {
+		return Collections.unmodifiableList(new ArrayList<>(hosts));
+	}
+	
+	/**
+	 * Performs a GET request against the DevTools HTTP server of a Chromium process and returns the response body.
+	 */
+	private static String get(String url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setConnectTimeout(PROBE_TIMEOUT_MILLIS);
+		connection.setReadTimeout(PROBE_TIMEOUT_MILLIS);
+		try(InputStream in = connection.getInputStream()) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int n;
+			while((n = in.read(buffer)) != -1) out.write(buffer, 0, n);
+			return new String(out.toByteArray(), StandardCharsets.UTF_8);
+		}
+		finally {
+			connection.disconnect();
+		}
+	}
+	
+	
+	static final class Host {
+		
+		private final CompletableFuture<String> endpoint = new CompletableFuture<>();
+		private final CountDownLatch closed = new CountDownLatch(1);
+		private Thread thread;
+		private int attached;  // guarded by the SharedChromium
+		private boolean retired;  // guarded by the SharedChromium
+		
+		private void start(CreateOptions createOptions, LaunchOptions launchOptions) {
+			thread = new Thread(() -> host(createOptions, launchOptions), "PlaywrightThread-chromium-host-" + HOST_COUNT.incrementAndGet());
+			thread.setDaemon(true);
+			thread.start();
+		}
+		
+		/**
+		 * Runs on the host thread, which owns the {@link Playwright} instance of the shared Chromium process until the host is closed.
+		 */
+		private void host(CreateOptions createOptions, LaunchOptions launchOptions) {
+			try(Playwright playwright = Playwright.create(createOptions)) {
+				for(int attempt = 1; ; attempt++) {
+					int port = freePort();
+					Browser browser = playwright.chromium().launch(Options.withArgs(launchOptions, Collections.singletonList("--remote-debugging-port=" + port)));
+					if(owns(browser, port)) {
+						endpoint.complete("http://127.0.0.1:" + port);
+						closed.await();
+						browser.close();
+						return;
+					}
+					browser.close();
+					if(attempt == LAUNCH_ATTEMPTS) {
+						throw new PlaywrightException("Chromium could not bind a remote debugging port after " + LAUNCH_ATTEMPTS + " attempts");
+					}
+				}
+			}
+			catch(Throwable t) {
+				endpoint.completeExceptionally(t);
+			}
+		}
+		
+		/**
+		 * Returns whether the DevTools server on the given port belongs to the given browser. The port is only known to be free when
+		 * {@link #freePort()} returns, so another process may have taken it before Chromium bound it, in which case Chromium keeps 
+		 * running without a DevTools server. A page with a unique URL identifies the browser among the targets the server lists.
+		 */
+		private static boolean owns(Browser browser, int port) {
+			String token = UUID.randomUUID().toString();
+			Page marker = browser.newPage();
+			try {
+				marker.navigate("about:blank#" + token);
+				return get("http://127.0.0.1:" + port + "/json/list").contains(token);
+			}
+			catch(IOException e) {
+				return false;
+			}
+			finally {
+				marker.context().close();
+			}
+		}
+		
+		private static int freePort() throws IOException {
+			try(ServerSocket socket = new ServerSocket(0)) {
+				return socket.getLocalPort();
+			}
+		}
+		
+		/**
+		 * Returns the endpoint of the Chromium process, waiting for it to launch if necessary.
+		 * @throws PlaywrightException If the process could not be launched.
+		 */
+		String endpoint() {
+			try {
+				return endpoint.join();
+			}
+			catch(CompletionException e) {
+				Throwable cause = e.getCause();
+				if(cause instanceof PlaywrightException) throw (PlaywrightException) cause;
+				throw new PlaywrightException("Failed to launch shared Chromium", cause);
+			}
+		}
+		
+		/**
+		 * Returns whether the Chromium process of this host is still running and serving connections. A failed connection attempt 
+		 * alone does not mean that, e.g. it may merely have timed out.
+		 */
+		boolean isAlive() {
+			if(!endpoint.isDone()) return true;  // still launching
+			if(endpoint.isCompletedExceptionally() || !thread.isAlive()) return false;
+			try {
+				get(endpoint.join() + "/json/version");
+				return true;
+			}
+			catch(IOException e) {
+				return false;
+			}
+		}
+		
+		int attached() {
+			return attached;
+		}
+		
+		void close() {
+			closed.countDown();
+		}
+		
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.PlaywrightException;
+
+@Internal
+final class SharedChromiumPlaywrightThread extends InternalPlaywrightThread {
+	
+	private static final int CONNECT_ATTEMPTS = 3;
+	
+	private final SharedChromium shared;
+	private SharedChromium.Host host;
+
+	SharedChromiumPlaywrightThread(Runnable r, CreateOptions createOptions, LaunchOptions launchOptions, SharedChromium shared) {
+		super(r, createOptions, launchOptions, true, false, false);
+		this.shared = shared;
+	}
+	
+	/**
+	 * Connects to a shared Chromium process instead of launching one. A failed connection is retried, and only if the process is dead,
+	 * e.g. because it crashed, does the thread retire its host and move on to another one. A process that is merely slow to accept a
+	 * connection keeps serving the other threads attached to it.
+	 */
+	@Override
+	protected Browser launch(BrowserType browserType) {
+		if(host == null) host = shared.attach();
+		PlaywrightException failure = null;
+		for(int attempt = 0; attempt < CONNECT_ATTEMPTS; attempt++) {
+			try {
+				return browserType.connectOverCDP(host.endpoint());
+			}
+			catch(PlaywrightException e) {
+				if(failure == null) failure = e;
+				else failure.addSuppressed(e);
+				if(!host.isAlive()) host = shared.replace(host);
+			}
+		}
+		throw failure;
+	}
+	
+	@Override
+	void release() {
+		if(host != null) {
+			shared.detach(host);
+			host = null;
+		}
+	}
+
+}
@@ -0,0 +1,341 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.Route.FulfillOptions;
+
+/**
+ * 
+ * This class is an in-memory cache of static assets, e.g. scripts and stylesheets, which is shared by all {@link PlaywrightThread}s 
+ * it is configured for. Every {@link BrowserContext} created by the threads stores the cacheable responses it receives in the cache, and 
+ * serves later requests for the same URL from the cache with {@link Route#fulfill(FulfillOptions)} instead of going to the network. 
+ * For example:
+ * 
+ * <pre>
+ * StaticAssetCache cache = new StaticAssetCache(256L * 1024 * 1024);
+ * new PlaywrightThreadOptions().setAssetCache(cache);
+ * </pre>
+ * 
+ * Only successful {@code GET} responses that are explicitly fresh according to their {@code Cache-Control} or {@code Expires} header are 
+ * stored, and only until they become stale. Responses which are {@code private}, {@code no-store}, {@code no-cache}, set cookies or 
+ * vary on anything but the encoding are never stored. The bodies are held outside the Java heap and the least recently used entries 
+ * are evicted once the cache exceeds its size. <br><br>
+ * The cache is consulted through a route, which makes Playwright disable the HTTP cache of the {@link BrowserContext}. 
+ * Routes of tasks are consulted first and may still handle cached requests themselves.
+ * 
+ * @see PlaywrightThreadOptions#setAssetCache(StaticAssetCache)
+ *
+ */
+public final class StaticAssetCache {
+	
+	private final long maxBytes;
+	private volatile long maxEntryBytes;
+	private volatile Set<String> resourceTypes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("script", "stylesheet", "font", "image")));
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);  // in access order, guarded by this
+	private long bytes;  // guarded by this
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	
+	/**
+	 * Creates an empty {@link StaticAssetCache} which holds up to {@code maxBytes} bytes of response bodies. The bodies are held in
+	 * direct memory, so {@code maxBytes} should not exceed {@code -XX:MaxDirectMemorySize}. Responses that do not fit into the direct 
+	 * memory left are not cached.
+	 * @param maxBytes The maximum total size of the cached response bodies in bytes.
+	 * @throws IllegalArgumentException If {@code maxBytes} is not positive.
+	 */
+	public StaticAssetCache(long maxBytes) {
+		if(maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be positive!");
+		this.maxBytes = maxBytes;
+		this.maxEntryBytes = Math.min(maxBytes, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Sets the size in bytes above which a response body is not cached. Defaults to the size of the cache.
+	 * @param maxEntryBytes The maximum size of a cached response body in bytes.
+	 * @return This {@link StaticAssetCache}
+	 * @throws IllegalArgumentException If {@code maxEntryBytes} is not positive.
+	 */
+	public StaticAssetCache setMaxEntryBytes(long maxEntryBytes) {
+		if(maxEntryBytes <= 0) throw new IllegalArgumentException("maxEntryBytes must be positive!");
+		this.maxEntryBytes = Math.min(maxEntryBytes, Math.min(maxBytes, Integer.MAX_VALUE));
+		return this;
+	}
+	
+	/**
+	 * Sets the resource types of the requests that are cached, as reported by {@link Request#resourceType()}. 
+	 * Defaults to {@code script}, {@code stylesheet}, {@code font} and {@code image}.
+	 * @param resourceTypes The resource types to cache.
+	 * @return This {@link StaticAssetCache}
+	 */
+	public StaticAssetCache setResourceTypes(String... resourceTypes) {
+		Set<String> types = new HashSet<>();
+		for(String type : resourceTypes) {
+			types.add(type.toLowerCase(Locale.ROOT));
+		}
+		this.resourceTypes = Collections.unmodifiableSet(types);
+		return this;
+	}
+	
+	/**
+	 * Returns how many requests were served from this cache.
+	 * @return The number of cache hits.
+	 */
+	public long hits() {
+		return hits.get();
+	}
+	
+	/**
+	 * Returns how many cacheable requests were not found in this cache and went to the network.
+	 * @return The number of cache misses.
+	 */
+	public long misses() {
+		return misses.get();
+	}
+	
+	/**
+	 * Returns how many entries were evicted to make room for newer ones.
+	 * @return The number of evictions.
+	 */
+	public long evictions() {
+		return evictions.get();
+	}
+	
+	/**
+	 * Returns the total size of the cached response bodies in bytes.
+	 * @return The size of this cache in bytes.
+	 */
+	public synchronized long size() {
+		return bytes;
+	}
+	
+	/**
+	 * Removes all entries of this cache.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+	
+	/**
+	 * Installs this cache on the given {@link BrowserContext}: requests are served from the cache if possible, and cacheable responses 
+	 * are stored in it.
+	 */
+	void install(BrowserContext context) {
+		context.route("**/*", this::handle);
+		context.onResponse(this::store);
+	}
+	
+	private boolean isCacheable(Request request) {
+		return request.method().equals("GET") && resourceTypes.contains(request.resourceType());
+	}
+	
+	private void handle(Route route) {
+		Request request = route.request();
+		if(!isCacheable(request)) {
+			route.fallback();
+			return;
+		}
+		
+		Entry entry = get(request.url());
+		if(entry == null) {
+			misses.incrementAndGet();
+			route.fallback();
+			return;
+		}
+		hits.incrementAndGet();
+		route.fulfill(new FulfillOptions().setStatus(entry.status).setHeaders(entry.headers).setBodyBytes(entry.body()));
+	}
+	
+	private void store(Response response) {
+		Request request = response.request();
+		if(response.status() != 200 || !isCacheable(request)) return;
+		
+		Map<String, String> headers;
+		try {
+			headers = response.allHeaders();  // unlike headers(), includes set-cookie
+		}
+		catch(PlaywrightException e) {
+			return;
+		}
+		long freshFor = freshness(headers, System.currentTimeMillis());
+		if(freshFor <= 0) return;
+		String url = request.url();
+		if(get(url) != null) return;  // e.g. this response was served from the cache
+		
+		byte[] body;
+		try {
+			body = response.body();
+		}
+		catch(PlaywrightException e) {
+			return;  // the body is no longer available, e.g. because the page navigated away
+		}
+		if(body.length > maxEntryBytes) return;
+		
+		Map<String, String> stored = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		stored.putAll(headers);
+		// the body is stored decoded, so its original encoding and length no longer apply
+		stored.remove("content-encoding");
+		stored.remove("content-length");
+		stored.remove("transfer-encoding");
+		Entry entry;
+		try {
+			entry = new Entry(response.status(), stored, body, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(freshFor));
+		}
+		catch(OutOfMemoryError e) {
+			return;  // maxBytes exceeds -XX:MaxDirectMemorySize, the response is simply not cached
+		}
+		put(url, entry);
+	}
+	
+	private synchronized Entry get(String url) {
+		Entry entry = entries.get(url);
+		if(entry != null && entry.isStale()) {
+			entries.remove(url);
+			bytes -= entry.size();
+			return null;
+		}
+		return entry;
+	}
+	
+	private synchronized void put(String url, Entry entry) {
+		Entry previous = entries.put(url, entry);
+		if(previous != null) bytes -= previous.size();
+		bytes += entry.size();
+		Iterator<Entry> it = entries.values().iterator();
+		while(bytes > maxBytes && it.hasNext()) {
+			Entry eldest = it.next();
+			it.remove();
+			bytes -= eldest.size();
+			if(eldest != entry) evictions.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Returns for how many milliseconds a response with the given headers may be served from the cache, or {@code 0} if it must 
+	 * not be cached.
+	 */
+	static long freshness(Map<String, String> headers, long now) {
+		Map<String, String> h = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		h.putAll(headers);
+		if(h.containsKey("set-cookie")) return 0;
+		String vary = h.get("vary");
+		if(vary != null && !vary.trim().equalsIgnoreCase("accept-encoding")) return 0;
+		
+		String cacheControl = h.get("cache-control");
+		if(cacheControl != null) {
+			long maxAge = -1;
+			for(String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+				directive = directive.trim();
+				if(directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) return 0;
+				if(directive.startsWith("s-maxage=") || (directive.startsWith("max-age=") && maxAge < 0)) {
+					try {
+						maxAge = Long.parseLong(directive.substring(directive.indexOf('=') + 1).trim());
+					}
+					catch(NumberFormatException e) {
+						return 0;
+					}
+				}
+			}
+			if(maxAge >= 0) {
+				long age = 0;
+				try {
+					if(h.containsKey("age")) age = Long.parseLong(h.get("age").trim());
+				}
+				catch(NumberFormatException e) {
+					// treat an invalid age as fresh from the origin
+				}
+				return Math.max(0, TimeUnit.SECONDS.toMillis(maxAge - age));
+			}
+		}
+		
+		String expires = h.get("expires");
+		if(expires != null) {
+			try {
+				long expiresAt = ZonedDateTime.parse(expires.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+				return Math.max(0, expiresAt - now);
+			}
+			catch(DateTimeParseException e) {
+				return 0;  // invalid dates, e.g. "0", mean already expired
+			}
+		}
+		return 0;
+	}
+	
+	
+	private static final class Entry {
+		
+		final int status;
+		final Map<String, String> headers;
+		private final ByteBuffer body;
+		private final long staleAt;
+		
+		Entry(int status, Map<String, String> headers, byte[] body, long staleAt) {
+			this.status = status;
+			this.headers = headers;
+			this.body = ByteBuffer.allocateDirect(body.length);
+			this.body.put(body);
+			this.body.flip();
+			this.staleAt = staleAt;
+		}
+		
+		byte[] body() {
+			byte[] copy = new byte[body.remaining()];
+			body.duplicate().get(copy);
+			return copy;
+		}
+		
+		int size() {
+			return body.capacity();
+		}
+		
+		boolean isStale() {
+			return System.nanoTime() - staleAt >= 0;
+		}
+		
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Browser.NewContextOptions;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+
+/**
+ * 
+ * This class caches the storage state, i.e. the cookies and web storage, of logged in sessions and shares it between {@link PlaywrightThread}s,
+ * so that each session is logged in once instead of once per task. Sessions are identified by a key, e.g. the name of a user account. 
+ * The first thread that needs a session performs the login, while other threads that need the same session wait for it and then reuse
+ * the result. For example:
+ * 
+ * <pre>
+ * StorageStateCache sessions = new StorageStateCache((context, user) -&gt; {
+ *     Page page = context.newPage();
+ *     page.navigate("https://example.com/login");
+ *     ...
+ * }).setTimeToLive(Duration.ofMinutes(30));
+ * 
+ * executorService.submit(() -&gt; {
+ *     PlaywrightThread t = PlaywrightThread.current();
+ *     try(BrowserContext context = sessions.newContext(t.chromium(), "alice")) {
+ *         ...
+ *         if(loggedOut) sessions.invalidate("alice", context);
+ *     }
+ * });
+ * </pre>
+ * 
+ * A session is logged in again once its time to live has passed, or after it was {@link #invalidate(String, BrowserContext) invalidated}, 
+ * e.g. because a task detected that the site logged it out. Like the first login, each refresh is performed by a single thread. <br><br>
+ * Logins are performed on the calling thread with its own {@link Browser}, so a {@link StorageStateCache} can be shared by any number of 
+ * threads and factories.
+ *
+ */
+public final class StorageStateCache {
+	
+	/**
+	 * Logs a session in.
+	 */
+	@FunctionalInterface
+	public interface Login {
+		
+		/**
+		 * Logs the session with the given key in on the given new {@link BrowserContext}. The storage state of the context is cached once 
+		 * this method returns, after which the context is closed. It must not wait for another session of the same {@link StorageStateCache}.
+		 * @param context A new {@link BrowserContext}
+		 * @param key The key of the session
+		 */
+		void login(BrowserContext context, String key);
+		
+	}
+	
+	private final Login login;
+	private volatile Duration timeToLive;
+	private final ConcurrentHashMap<String, CompletableFuture<Session>> sessions = new ConcurrentHashMap<>();
+	private final Map<BrowserContext, Session> contexts = Collections.synchronizedMap(new WeakHashMap<>());
+	
+	/**
+	 * Creates an empty {@link StorageStateCache} whose sessions are logged in by the given {@link Login}.
+	 * @param login The {@link Login} 
+	 * @throws NullPointerException If {@code login} is {@code null}.
+	 */
+	public StorageStateCache(Login login) {
+		this.login = Objects.requireNonNull(login, "login");
+	}
+	
+	/**
+	 * Sets how long a session is reused before it is logged in again. Defaults to {@code null}, which means sessions are reused until 
+	 * they are invalidated.
+	 * @param timeToLive The time to live of a session, or {@code null} for no limit.
+	 * @return This {@link StorageStateCache}
+	 * @throws IllegalArgumentException If {@code timeToLive} is not positive.
+	 */
+	public StorageStateCache setTimeToLive(Duration timeToLive) {
+		if(timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+			throw new IllegalArgumentException("timeToLive must be positive!");
+		}
+		this.timeToLive = timeToLive;
+		return this;
+	}
+	
+	/**
+	 * Returns the storage state of the session with the given key as JSON, logging it in with the given {@link Browser} first if necessary.
+	 * @param browser The {@link Browser} of the calling thread, which is used if the session has to be logged in.
+	 * @param key The key of the session
+	 * @return The storage state, e.g. for {@link NewContextOptions#setStorageState(String)}
+	 * @throws PlaywrightException If the login failed or the calling thread was interrupted while waiting for another thread's login.
+	 */
+	public String storageState(Browser browser, String key) {
+		return session(browser, key).storageState;
+	}
+	
+	/**
+	 * Creates a new {@link BrowserContext} of the given {@link Browser} with the storage state of the session with the given key, 
+	 * logging the session in first if necessary.
+	 * @param browser The {@link Browser} of the calling thread
+	 * @param key The key of the session
+	 * @return The new {@link BrowserContext}
+	 * @throws PlaywrightException If the login failed or the calling thread was interrupted while waiting for another thread's login.
+	 */
+	public BrowserContext newContext(Browser browser, String key) {
+		return newContext(browser, key, new NewContextOptions());
+	}
+	
+	/**
+	 * Creates a new {@link BrowserContext} of the given {@link Browser} with the given options and the storage state of the session with 
+	 * the given key, logging the session in first if necessary. The given options are not modified.
+	 * @param browser The {@link Browser} of the calling thread
+	 * @param key The key of the session
+	 * @param contextOptions The {@link NewContextOptions} for {@link Browser#newContext(NewContextOptions)}
+	 * @return The new {@link BrowserContext}
+	 * @throws PlaywrightException If the login failed or the calling thread was interrupted while waiting for another thread's login.
+	 */
+	public BrowserContext newContext(Browser browser, String key, NewContextOptions contextOptions) {
+		Session session = session(browser, key);
+		BrowserContext context = browser.newContext(Options.copy(contextOptions).setStorageState(session.storageState));
+		contexts.put(context, session);
+		return context;
+	}
+	
+	/**
+	 * Invalidates the session with the given key, so that it is logged in again when it is next needed.
+	 * @param key The key of the session
+	 */
+	public void invalidate(String key) {
+		sessions.remove(key);
+	}
+	
+	/**
+	 * Invalidates the session with the given key if the given {@link BrowserContext} was created with its current storage state, e.g. 
+	 * after a task found that the context was logged out. When several tasks detect the same logout, the session is only logged in 
+	 * again once.
+	 * @param key The key of the session
+	 * @param loggedOut A {@link BrowserContext} created by {@link #newContext(Browser, String)}
+	 */
+	public void invalidate(String key, BrowserContext loggedOut) {
+		Session session = contexts.get(loggedOut);
+		if(session == null) return;
+		CompletableFuture<Session> current = sessions.get(key);
+		if(current != null && current.getNow(null) == session) sessions.remove(key, current);
+	}
+	
+	private Session session(Browser browser, String key) {
+		while(true) {
+			CompletableFuture<Session> future = sessions.get(key);
+			if(future == null) {
+				CompletableFuture<Session> created = new CompletableFuture<>();
+				future = sessions.putIfAbsent(key, created);
+				if(future == null) {
+					return login(browser, key, created);
+				}
+			}
+			
+			Session session = await(future, key);
+			if(!session.isExpired()) return session;
+			sessions.remove(key, future);  // the next iteration logs in again, unless another thread is already doing so
+		}
+	}
+	
+	private Session login(Browser browser, String key, CompletableFuture<Session> future) {
+		try {
+			String storageState;
+			BrowserContext context = browser.newContext();
+			try {
+				login.login(context, key);
+				storageState = context.storageState();
+			}
+			finally {
+				context.close();
+			}
+			Session session = new Session(storageState, timeToLive);
+			future.complete(session);
+			return session;
+		}
+		catch(RuntimeException | Error e) {
+			// waiting threads see the failure, later calls try again
+			sessions.remove(key, future);
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+	
+	private static Session await(CompletableFuture<Session> future, String key) {
+		try {
+			return future.get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PlaywrightException("Interrupted while waiting for the login of " + key, e);
+		}
+		catch(ExecutionException e) {
+			throw new PlaywrightException("The login of " + key + " failed", e.getCause());
+		}
+	}
+	
+	
+	private static final class Session {
+		
+		final String storageState;
+		private final long loggedIn = System.nanoTime();
+		private final long timeToLive;  // in nanoseconds, 0 means no limit
+		
+		Session(String storageState, Duration timeToLive) {
+			this.storageState = storageState;
+			this.timeToLive = timeToLive == null ? 0 : timeToLive.toNanos();
+		}
+		
+		boolean isExpired() {
+			return timeToLive != 0 && System.nanoTime() - loggedIn >= timeToLive;
+		}
+		
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PlaywrightThread} whose {@link PlaywrightThreadInitPackage} is provided by a {@link Supplier} instead of a subclass.
+ */
+@Internal
+final class SuppliedPlaywrightThread extends PlaywrightThread {
+	
+	private final Supplier<PlaywrightThreadInitPackage> init;
+
+	SuppliedPlaywrightThread(Runnable r, Supplier<PlaywrightThreadInitPackage> init) {
+		super(r, true);  // initialised by the factory via configure(PlaywrightThreadOptions)
+		this.init = init;
+	}
+
+	@Override
+	protected PlaywrightThreadInitPackage init() {
+		return Objects.requireNonNull(init.get(), "The supplier returned null.");
+	}
+
+}
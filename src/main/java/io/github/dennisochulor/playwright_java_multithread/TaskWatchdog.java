@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the deadline of one task of a {@link PlaywrightThread}. As Playwright objects must not be used by other threads and a thread 
+ * blocked in a Playwright call ignores interrupts, an expired task is unblocked in stages that only signal processes:
+ * <ol>
+ * <li>At the deadline, the task is failed and the thread is interrupted.</li>
+ * <li>After a grace period, the browser processes of the thread are killed, so that calls on the browsers fail as after a crash.</li>
+ * <li>After another grace period, the driver process of the thread is killed as well.</li>
+ * </ol>
+ * Stages are skipped once the task has completed.
+ */
+@Internal
+final class TaskWatchdog {
+	
+	static final long GRACE_NANOS = TimeUnit.SECONDS.toNanos(5);
+	
+	private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, r -> {
+		Thread t = new Thread(r, "PlaywrightThread-task-watchdog");
+		t.setDaemon(true);
+		return t;
+	});
+	static {
+		TIMER.setRemoveOnCancelPolicy(true);
+	}
+	
+	private final PlaywrightThread thread;
+	private final Runnable fail;
+	private final ScheduledFuture<?>[] stages = new ScheduledFuture<?>[3];
+	private boolean done;  // guarded by this
+	
+	private TaskWatchdog(PlaywrightThread thread, Runnable fail) {
+		this.thread = thread;
+		this.fail = fail;
+	}
+	
+	/**
+	 * Starts watching the task the given thread is about to run.
+	 * @param fail Fails the task, e.g. by completing its future exceptionally.
+	 */
+	static TaskWatchdog start(PlaywrightThread thread, long timeoutNanos, Runnable fail) {
+		TaskWatchdog watchdog = new TaskWatchdog(thread, fail);
+		synchronized(watchdog) {
+			for(int i = 0; i < watchdog.stages.length; i++) {
+				int stage = i;
+				watchdog.stages[i] = TIMER.schedule(() -> watchdog.expire(stage), timeoutNanos + i * GRACE_NANOS, TimeUnit.NANOSECONDS);
+			}
+		}
+		return watchdog;
+	}
+	
+	/**
+	 * Stops watching, invoked by the thread once the task has completed.
+	 */
+	synchronized void stop() {
+		done = true;
+		for(ScheduledFuture<?> stage : stages) {
+			stage.cancel(false);
+		}
+	}
+	
+	// holds the lock while killing, so that a task that completes in the meantime is not affected by a later stage
+	private synchronized void expire(int stage) {
+		if(done) return;
+		switch(stage) {
+			case 0:
+				thread.options().metrics.taskTimedOut();
+				fail.run();
+				thread.interrupt();
+				break;
+			case 1:
+				ProcessTree.killBrowsers(thread.driverPid());
+				break;
+			default:
+				thread.killDriver();
+				break;
+		}
+	}
+
+}
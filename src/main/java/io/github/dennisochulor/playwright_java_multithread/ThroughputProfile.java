@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+/**
+ * 
+ * This class describes which requests the {@link BrowserContext}s of a {@link PlaywrightThread} skip, and which command line arguments 
+ * its Chromium browser is launched with, to load pages faster and with less bandwidth. For example:
+ * 
+ * <pre>
+ * new PlaywrightThreadOptions().setThroughputProfile(ThroughputProfile.lean().setAllowedDomains("example.com"));
+ * </pre>
+ * 
+ * The rules are installed as a route on every {@link BrowserContext} created through the {@link com.microsoft.playwright.Browser Browser}s
+ * of the thread, including the contexts of {@link PlaywrightThread#leaseContext(com.microsoft.playwright.Browser) leases} and 
+ * {@link com.microsoft.playwright.Browser#newPage() Browser.newPage()}. A request is aborted as soon as any rule blocks it. Routes of 
+ * tasks are consulted first and may still handle blocked requests themselves. Note that Playwright disables the HTTP cache of a 
+ * {@link BrowserContext} with routes, so a profile without blocking rules installs no route at all. <br><br>
+ * The Chromium arguments are only applied by the threads of the built-in factories of {@link PlaywrightThreadFactory}.
+ * 
+ * @see PlaywrightThreadOptions#setThroughputProfile(ThroughputProfile)
+ *
+ */
+public final class ThroughputProfile {
+	
+	/**
+	 * Chromium command line arguments that switch off features a headless browser of a {@link PlaywrightThread} does not need, such as
+	 * the GPU, extensions, background networking and the throttling of background pages.
+	 */
+	public static final List<String> HEADLESS_CHROMIUM_ARGS = Collections.unmodifiableList(Arrays.asList(
+			"--disable-gpu",
+			"--disable-dev-shm-usage",
+			"--disable-extensions",
+			"--disable-background-networking",
+			"--disable-background-timer-throttling",
+			"--disable-backgrounding-occluded-windows",
+			"--disable-renderer-backgrounding",
+			"--disable-breakpad",
+			"--disable-component-update",
+			"--disable-default-apps",
+			"--disable-sync",
+			"--metrics-recording-only",
+			"--mute-audio",
+			"--no-first-run",
+			"--hide-scrollbars"));
+	
+	private Set<String> blockedResourceTypes = Collections.emptySet();
+	private List<Pattern> blockedUrls = Collections.emptyList();
+	private List<String> allowedDomains;
+	List<String> chromiumArgs = Collections.emptyList();
+	
+	/**
+	 * Returns a new {@link ThroughputProfile} which blocks images, fonts and media and launches Chromium with {@link #HEADLESS_CHROMIUM_ARGS}.
+	 * Pages still render their layout and scripts, which is what most scraping and testing tasks need.
+	 * @return The {@link ThroughputProfile}
+	 */
+	public static ThroughputProfile lean() {
+		return new ThroughputProfile()
+				.setBlockedResourceTypes("image", "font", "media")
+				.setChromiumArgs(HEADLESS_CHROMIUM_ARGS);
+	}
+	
+	/**
+	 * Sets the resource types of the requests to block, as reported by {@link Request#resourceType()}, e.g. {@code image}, {@code font},
+	 * {@code media}, {@code stylesheet} or {@code websocket}. Defaults to none.
+	 * @param resourceTypes The resource types to block.
+	 * @return This {@link ThroughputProfile}
+	 */
+	public ThroughputProfile setBlockedResourceTypes(String... resourceTypes) {
+		Set<String> types = new HashSet<>();
+		for(String type : resourceTypes) {
+			types.add(type.toLowerCase(Locale.ROOT));
+		}
+		this.blockedResourceTypes = Collections.unmodifiableSet(types);
+		return this;
+	}
+	
+	/**
+	 * Sets the regular expressions of the URLs to block, e.g. {@code "google-analytics\\.com"}. A request is blocked if any of the 
+	 * expressions is found in its URL. Defaults to none.
+	 * @param urlPatterns The regular expressions of the URLs to block.
+	 * @return This {@link ThroughputProfile}
+	 * @throws java.util.regex.PatternSyntaxException If an expression is invalid.
+	 */
+	public ThroughputProfile setBlockedUrls(String... urlPatterns) {
+		List<Pattern> patterns = new ArrayList<>();
+		for(String pattern : urlPatterns) {
+			patterns.add(Pattern.compile(pattern));
+		}
+		this.blockedUrls = Collections.unmodifiableList(patterns);
+		return this;
+	}
+	
+	/**
+	 * Sets the only domains that HTTP and WebSocket requests may be sent to, which blocks third-party content such as analytics and ads. 
+	 * A domain also allows its subdomains, e.g. {@code example.com} allows {@code www.example.com}. Other requests, e.g. of {@code data:}
+	 * URLs, are not affected. Defaults to {@code null}, which allows all domains.
+	 * @param domains The allowed domains, or {@code null} to allow all domains.
+	 * @return This {@link ThroughputProfile}
+	 */
+	public ThroughputProfile setAllowedDomains(String... domains) {
+		if(domains == null) {
+			this.allowedDomains = null;
+			return this;
+		}
+		List<String> allowed = new ArrayList<>();
+		for(String domain : domains) {
+			allowed.add(domain.toLowerCase(Locale.ROOT));
+		}
+		this.allowedDomains = Collections.unmodifiableList(allowed);
+		return this;
+	}
+	
+	/**
+	 * Sets the command line arguments that are appended to the {@link com.microsoft.playwright.BrowserType.LaunchOptions#args args} of 
+	 * the Chromium browser, e.g. {@link #HEADLESS_CHROMIUM_ARGS}. Defaults to none.
+	 * @param chromiumArgs The Chromium command line arguments.
+	 * @return This {@link ThroughputProfile}
+	 */
+	public ThroughputProfile setChromiumArgs(List<String> chromiumArgs) {
+		this.chromiumArgs = Collections.unmodifiableList(new ArrayList<>(chromiumArgs));
+		return this;
+	}
+	
+	/**
+	 * Returns whether any request is blocked by this profile.
+	 */
+	boolean blocks() {
+		return !blockedResourceTypes.isEmpty() || !blockedUrls.isEmpty() || allowedDomains != null;
+	}
+	
+	/**
+	 * Installs the blocking rules of this profile on the given {@link BrowserContext}. 
+	 */
+	void install(BrowserContext context) {
+		Set<String> types = blockedResourceTypes;
+		List<Pattern> urls = blockedUrls;
+		List<String> domains = allowedDomains;
+		context.route("**/*", route -> handle(route, types, urls, domains));
+	}
+	
+	private static void handle(Route route, Set<String> types, List<Pattern> urls, List<String> domains) {
+		Request request = route.request();
+		String url = request.url();
+		boolean blocked = types.contains(request.resourceType());
+		for(int i = 0; !blocked && i < urls.size(); i++) {
+			blocked = urls.get(i).matcher(url).find();
+		}
+		if(!blocked && domains != null) {
+			blocked = !isAllowed(url, domains);
+		}
+		
+		if(blocked) route.abort("blockedbyclient");
+		else route.fallback();
+	}
+	
+	static boolean isAllowed(String url, List<String> domains) {
+		int colon = url.indexOf(':');
+		String scheme = colon < 0 ? "" : url.substring(0, colon).toLowerCase(Locale.ROOT);
+		if(!scheme.equals("http") && !scheme.equals("https") && !scheme.equals("ws") && !scheme.equals("wss")) return true;
+		
+		String host = host(url, colon + 1);
+		if(host.isEmpty()) return false;  // a network URL whose host cannot be determined is never on the allow-list
+		for(String domain : domains) {
+			if(host.equals(domain) || host.endsWith("." + domain)) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Extracts the lower case host of a hierarchical URL by hand, as {@link java.net.URI} rejects characters such as {@code |} and 
+	 * <code>{</code> that browsers leave unescaped in queries. Returns an empty string if the URL has no authority.
+	 */
+	private static String host(String url, int afterScheme) {
+		if(!url.startsWith("//", afterScheme)) return "";
+		int start = afterScheme + 2;
+		int end = start;
+		while(end < url.length() && "/?#\\".indexOf(url.charAt(end)) < 0) end++;
+		String authority = url.substring(start, end);
+		authority = authority.substring(authority.lastIndexOf('@') + 1);  // user info
+		String host;
+		if(authority.startsWith("[")) {  // IPv6 literal
+			int close = authority.indexOf(']');
+			host = close < 0 ? "" : authority.substring(0, close + 1);
+		}
+		else {
+			int port = authority.indexOf(':');
+			host = port < 0 ? authority : authority.substring(0, port);
+		}
+		if(host.endsWith(".")) host = host.substring(0, host.length() - 1);
+		return host.toLowerCase(Locale.ROOT);
+	}
+
+}
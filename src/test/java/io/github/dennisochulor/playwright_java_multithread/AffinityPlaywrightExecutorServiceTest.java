@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class AffinityPlaywrightExecutorServiceTest {
+	
+	@Test
+	void testTasksWithTheSameKeyRunOnTheSameThread() throws Throwable {
+		AffinityPlaywrightExecutorService executor = new AffinityPlaywrightExecutorService(3, PlaywrightThreadFactory.ofChromium());
+		for(String key : new String[] {"example.com", "example.org", "session-42"}) {
+			PlaywrightThread expected = executor.threadOf(key);
+			for(int i = 0; i < 5; i++) {
+				Assertions.assertSame(expected, executor.supply(key, t -> t).get(1, TimeUnit.MINUTES));
+			}
+		}
+		Assertions.assertEquals("chromium", executor.supply("example.com", t -> t.chromium().browserType().name()).get());
+		Assertions.assertEquals(0, executor.steals());
+		
+		executor.shutdown();
+		Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute("example.com", () -> {}));
+		Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+		Assertions.assertTrue(executor.isTerminated());
+	}
+	
+	@Test
+	void testIdleThreadsStealFromBackloggedThreads() throws Throwable {
+		AffinityPlaywrightExecutorService executor = new AffinityPlaywrightExecutorService(2, PlaywrightThreadFactory.ofChromium());
+		CountDownLatch blocked = new CountDownLatch(1);
+		executor.execute("hot", () -> {
+			try {
+				blocked.await();
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		
+		List<Future<PlaywrightThread>> futures = new ArrayList<>();
+		for(int i = 0; i < 4; i++) {
+			futures.add(executor.supply("hot", t -> t));
+		}
+		PlaywrightThread stolenBy = futures.get(3).get(1, TimeUnit.MINUTES);  // the newest task is stolen first
+		Assertions.assertNotSame(executor.threadOf("hot"), stolenBy);
+		Assertions.assertTrue(executor.steals() > 0);
+		blocked.countDown();
+		for(Future<PlaywrightThread> future : futures) future.get(1, TimeUnit.MINUTES);
+		
+		executor.shutdown();
+		Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+	}
+	
+	@Test
+	void testInvalidArguments() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new AffinityPlaywrightExecutorService(0, PlaywrightThreadFactory.ofChromium()));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new AffinityPlaywrightExecutorService(1, Thread::new));
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.Cookie;
+
+final class BrowserContextLeaseTest {
+	
+	@Test
+	void testPooledContextIsReusedAndReset() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setContextPoolSize(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			BrowserContext first;
+			try(BrowserContextLease lease = t.leaseContext(t.chromium())) {
+				first = lease.context();
+				first.addCookies(Collections.singletonList(new Cookie("name", "value").setUrl("https://example.com")));
+				first.newPage();
+				first.newPage();
+			}
+			try(BrowserContextLease lease = t.leaseContext(t.chromium())) {
+				Assertions.assertSame(first, lease.context());
+				Assertions.assertTrue(lease.context().cookies().isEmpty());
+				Assertions.assertEquals(1, lease.context().pages().size());
+			}
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testStorageOfVisitedOriginsIsCleared() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setContextPoolSize(1);
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		String storage = "async () => localStorage.length + sessionStorage.length + (await indexedDB.databases()).length";
+		Object remaining = executor.supply(t -> {
+			try(BrowserContextLease lease = t.leaseContext(t.chromium())) {
+				lease.context().route("**/*", route -> route.fulfill(new Route.FulfillOptions().setContentType("text/html").setBody("<html></html>")));
+				Page page = lease.context().newPage();
+				page.navigate("http://first.test/");
+				page.evaluate("() => new Promise(r => { localStorage.setItem('a', '1'); sessionStorage.setItem('b', '2'); indexedDB.open('db').onsuccess = r; })");
+				Assertions.assertEquals(3, page.evaluate(storage));
+				page.navigate("http://second.test/");  // the storage of first.test is no longer reachable from an open page
+				page.close();
+			}
+			try(BrowserContextLease lease = t.leaseContext(t.chromium())) {
+				Page page = lease.context().pages().get(0);
+				page.navigate("http://first.test/");  // the route of the previous lease is still in place
+				return page.evaluate(storage);
+			}
+		}).get(1, TimeUnit.MINUTES);
+		Assertions.assertEquals(0, remaining);
+		
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testContextIsClosedWhenCustomResetThrows() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setContextPoolSize(1).setContextReset(context -> {
+			throw new IllegalArgumentException("broken reset");
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			BrowserContextLease lease = t.leaseContext(t.chromium());
+			Assertions.assertThrowsExactly(IllegalArgumentException.class, () -> lease.close());
+			Assertions.assertEquals(0, t.chromium().contexts().size());
+			Assertions.assertThrowsExactly(IllegalStateException.class, () -> lease.context());
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testContextIsClosedWithoutPool() throws Throwable {
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromium());
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			BrowserContextLease lease = t.leaseContext(t.chromium());
+			Assertions.assertEquals(1, t.chromium().contexts().size());
+			lease.close();
+			Assertions.assertEquals(0, t.chromium().contexts().size());
+			Assertions.assertThrowsExactly(IllegalStateException.class, () -> lease.context());
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class BrowserRoutingExecutorServiceTest {
+	
+	@Test
+	void testTasksAreRoutedByBrowser() throws Throwable {
+		BrowserRoutingExecutorService executor = new BrowserRoutingExecutorService(2, 1, 0);
+		Assertions.assertTrue(executor.awaitReady(1, TimeUnit.MINUTES));
+		Assertions.assertEquals(2, executor.executor(BrowserKind.CHROMIUM).getPoolSize());
+		Assertions.assertEquals(1, executor.executor(BrowserKind.FIREFOX).getPoolSize());
+		
+		Callable<String> chromium = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertThrowsExactly(NullPointerException.class, () -> t.firefox());
+			return t.chromium().browserType().name();
+		};
+		Callable<String> firefox = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertThrowsExactly(NullPointerException.class, () -> t.chromium());
+			return t.firefox().browserType().name();
+		};
+		Assertions.assertEquals("chromium", executor.submit(BrowserKind.CHROMIUM, chromium).get());
+		Assertions.assertEquals("firefox", executor.submit(BrowserKind.FIREFOX, firefox).get());
+		Assertions.assertThrows(RejectedExecutionException.class, () -> executor.submit(BrowserKind.WEBKIT, () -> {}));
+		
+		executor.shutdown();
+		Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+		Assertions.assertTrue(executor.isTerminated());
+	}
+	
+	@Test
+	void testInvalidThreadCounts() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BrowserRoutingExecutorService(0, 0, 0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BrowserRoutingExecutorService(1, -1, 0));
+	}
+
+}
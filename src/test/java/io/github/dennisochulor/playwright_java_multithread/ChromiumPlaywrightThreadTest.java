@@ -24,15 +24,27 @@
 
 package io.github.dennisochulor.playwright_java_multithread;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserType.LaunchOptions;
 import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.PlaywrightException;
 
 final class ChromiumPlaywrightThreadTest {
 	
@@ -68,4 +80,91 @@ final class ChromiumPlaywrightThreadTest {
 		executor.awaitTermination(1, TimeUnit.MINUTES);
 	}
 	
+	@Test
+	void testChromiumPlaywrightThreadWithDeferredInit() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setDeferredInit(true);
+		CompletableFuture<Void> result = new CompletableFuture<>();  // assertion failures on the thread itself would not fail the test
+		PlaywrightThread thread = (PlaywrightThread) PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options).newThread(() -> {
+			try {
+				PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+				Assertions.assertNotNull(t.playwright());
+				Assertions.assertEquals(t.chromium().browserType().name(), "chromium");
+				result.complete(null);
+			}
+			catch(Throwable e) {
+				result.completeExceptionally(e);
+			}
+		});
+		Assertions.assertFalse(thread.ready().isDone());
+		Assertions.assertThrows(IllegalStateException.class, thread::playwright);
+		
+		thread.start();
+		Assertions.assertSame(thread, thread.ready().get(1, TimeUnit.MINUTES));
+		result.get(1, TimeUnit.MINUTES);
+		thread.join();
+	}
+	
+	@Test
+	void testCrashedChromiumIsRelaunched() throws Throwable {
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		Browser crashed = executor.supply(t -> {
+			Browser browser = t.chromium();
+			try {
+				browser.newBrowserCDPSession().send("Browser.crash");
+			}
+			catch(PlaywrightException e) {
+				// expected, the browser is gone
+			}
+			return browser;  // the crash is noticed while the thread is idle, not by this task
+		}).get(1, TimeUnit.MINUTES);
+		Thread.sleep(1000);
+		
+		executor.run(t -> {
+			Assertions.assertNotSame(crashed, t.chromium());
+			Assertions.assertTrue(t.chromium().isConnected());
+			t.chromium().newPage().navigate("data:text/html,<p>relaunched</p>");
+			Assertions.assertEquals(1, t.browserCrashes());
+			Assertions.assertEquals(1, t.browserRelaunches());
+		}).get(1, TimeUnit.MINUTES);
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testSharedChromiumPlaywrightThread() throws Throwable {
+		ExecutorService executor = Executors.newFixedThreadPool(2, PlaywrightThreadFactory.ofChromiumShared(2));
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		Callable<Long> test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertEquals(t.chromium().browserType().name(), "chromium");
+			Assertions.assertThrowsExactly(NullPointerException.class, () -> t.firefox());
+			bothStarted.countDown();
+			Assertions.assertTrue(bothStarted.await(1, TimeUnit.MINUTES));  // ensures the tasks run on different threads
+			// the PID of the Chromium browser process this thread is connected to
+			JsonObject info = t.chromium().newBrowserCDPSession().send("SystemInfo.getProcessInfo");
+			for(JsonElement process : info.getAsJsonArray("processInfo")) {
+				if(process.getAsJsonObject().get("type").getAsString().equals("browser")) return process.getAsJsonObject().get("id").getAsLong();
+			}
+			throw new AssertionError("No browser process in " + info);
+		};
+		
+		Future<Long> first = executor.submit(test);
+		Future<Long> second = executor.submit(test);
+		Assertions.assertEquals(first.get(1, TimeUnit.MINUTES), second.get(1, TimeUnit.MINUTES));
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testMissingBrowserFailsFactoryCreation() throws Throwable {
+		Path empty = Files.createTempDirectory("playwright-browsers");
+		Map<String, String> env = new HashMap<>();
+		env.put("PLAYWRIGHT_BROWSERS_PATH", empty.toString());
+		env.put("PLAYWRIGHT_SKIP_BROWSER_DOWNLOAD", "1");
+		IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, 
+				() -> PlaywrightThreadFactory.ofChromium(new CreateOptions().setEnv(env), new LaunchOptions()));
+		Assertions.assertTrue(e.getMessage().contains("chromium"));
+		Files.delete(empty);
+	}
+
 }
@@ -24,13 +24,21 @@
 
 package io.github.dennisochulor.playwright_java_multithread;
 
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
 final class CustomPlaywrightThreadTest {
 	
 	@Test
@@ -49,4 +57,64 @@ final class CustomPlaywrightThreadTest {
 		executor.awaitTermination(1, TimeUnit.MINUTES);
 	}
 	
+	@Test
+	void testDirectlyConstructedThreadIsInitialisedEagerly() throws Throwable {
+		CompletableFuture<Void> result = new CompletableFuture<>();  // assertion failures on the thread itself would not fail the test
+		PlaywrightThread thread = new CustomPlaywrightThread(() -> {
+			try {
+				PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+				Assertions.assertEquals(t.chromium().browserType().name(), "chromium");
+				result.complete(null);
+			}
+			catch(Throwable e) {
+				result.completeExceptionally(e);
+			}
+		});
+		Assertions.assertTrue(thread.ready().isDone());
+		Assertions.assertNotNull(thread.playwright());
+		
+		thread.start();
+		result.get(1, TimeUnit.MINUTES);
+		thread.join();
+	}
+	
+	@Test
+	void testSuppliedPlaywrightThread() throws Throwable {
+		AtomicInteger inits = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2, PlaywrightThreadFactory.ofSupplier(() -> {
+			inits.incrementAndGet();
+			Playwright playwright = Playwright.create();
+			Browser firefox = playwright.firefox().launch();
+			return new PlaywrightThreadInitPackage(playwright, null, firefox, null);
+		}));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertThrowsExactly(NullPointerException.class, () -> t.chromium());
+			Assertions.assertEquals(t.firefox().browserType().name(), "firefox");
+		};
+		
+		executor.submit(test).get();
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		Assertions.assertEquals(2, inits.get());
+	}
+	
+	@Test
+	void testPerBrowserLaunchOptions() throws Throwable {
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofBrowsers(new CreateOptions(), 
+				new LaunchOptions().setArgs(Collections.singletonList("--disable-gpu")), null, new LaunchOptions(), new PlaywrightThreadOptions()));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertEquals(t.chromium().browserType().name(), "chromium");
+			Assertions.assertThrowsExactly(NullPointerException.class, () -> t.firefox());
+			Assertions.assertEquals(t.webkit().browserType().name(), "webkit");
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		Assertions.assertThrows(NullPointerException.class, () -> PlaywrightThreadFactory.ofBrowsers(new CreateOptions(), null, null, null, new PlaywrightThreadOptions()));
+	}
+	
 }
@@ -68,4 +68,29 @@ final class DefaultPlaywrightThreadTest {
 		executor.awaitTermination(1, TimeUnit.MINUTES);
 	}
 	
+	@Test
+	void testDefaultPlaywrightThreadWithLazyLaunch() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setLazyLaunch(true);
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofDefault(new CreateOptions(),new LaunchOptions(),options));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertNotNull(t.playwright());
+			Assertions.assertEquals(t.chromium().browserType().name(), "chromium");
+			Assertions.assertSame(t.chromium(), t.chromium());
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void throwISEIfLazyBrowserIsLaunchedByAnotherThread() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setLazyLaunch(true);
+		PlaywrightThread thread = (PlaywrightThread) PlaywrightThreadFactory.ofDefault(new CreateOptions(),new LaunchOptions(),options).newThread(null);
+		Assertions.assertThrowsExactly(IllegalStateException.class, () -> thread.webkit());
+		thread.start();
+		thread.join();
+	}
+	
 }
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class ElasticPlaywrightExecutorServiceTest {
+	
+	@Test
+	void testPoolGrowsAndShrinks() throws Throwable {
+		ScalingPolicy policy = new ScalingPolicy().setMinThreads(1).setMaxThreads(2).setMinAvailableMemory(0)
+				.setScaleUpWait(Duration.ofMillis(200)).setIdleTimeout(Duration.ofSeconds(1)).setInterval(Duration.ofMillis(100));
+		ElasticPlaywrightExecutorService executor = new ElasticPlaywrightExecutorService(policy, PlaywrightThreadFactory.ofChromium());
+		Assertions.assertTrue(executor.awaitReady(1, TimeUnit.MINUTES));
+		Assertions.assertEquals(1, executor.getPoolSize());
+		
+		Runnable task = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			t.chromium().newPage().waitForTimeout(5000);
+		};
+		Future<?> first = executor.submit(task);
+		Future<?> second = executor.submit(task);
+		first.get();
+		second.get();
+		Assertions.assertEquals(2, executor.getLargestPoolSize());
+		
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while(executor.getPoolSize() > 1 && System.nanoTime() < deadline) {
+			Thread.sleep(100);
+		}
+		Assertions.assertEquals(1, executor.getPoolSize());
+		executor.shutdown();
+		Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+	}
+	
+	@Test
+	void testThreadOfEmptyPoolIsKeptBetweenTasks() throws Throwable {
+		ScalingPolicy policy = new ScalingPolicy().setMinThreads(0).setMaxThreads(1).setMinAvailableMemory(0)
+				.setIdleTimeout(Duration.ofSeconds(1)).setInterval(Duration.ofMillis(100));
+		ElasticPlaywrightExecutorService executor = new ElasticPlaywrightExecutorService(policy, PlaywrightThreadFactory.ofChromium());
+		Assertions.assertEquals(0, executor.getPoolSize());
+		
+		PlaywrightThread first = executor.supply(t -> t).get(1, TimeUnit.MINUTES);
+		PlaywrightThread second = executor.supply(t -> t).get(1, TimeUnit.MINUTES);
+		Assertions.assertSame(first, second);
+		Assertions.assertEquals(1, executor.getPoolSize());
+		
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while(executor.getPoolSize() > 0 && System.nanoTime() < deadline) Thread.sleep(100);
+		Assertions.assertEquals(0, executor.getPoolSize());  // the scaler shrinks the idle pool
+		executor.shutdown();
+		Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+	}
+	
+	@Test
+	void testInvalidPolicy() {
+		ScalingPolicy policy = new ScalingPolicy().setMinThreads(3).setMaxThreads(2);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new ElasticPlaywrightExecutorService(policy, PlaywrightThreadFactory.ofChromium()));
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class EndpointPoolTest {
+	
+	@Test
+	void testRoundRobin() {
+		EndpointPool pool = new EndpointPool(Arrays.asList("ws://a", "ws://b", "ws://c"), EndpointSelection.ROUND_ROBIN);
+		Assertions.assertEquals(0, pool.acquire(Collections.emptySet()));
+		Assertions.assertEquals(1, pool.acquire(Collections.emptySet()));
+		Assertions.assertEquals(2, pool.acquire(Collections.emptySet()));
+		Assertions.assertEquals(0, pool.acquire(Collections.emptySet()));
+		Assertions.assertEquals(2, pool.acquire(Collections.singleton(1)));
+	}
+	
+	@Test
+	void testLeastLoaded() {
+		EndpointPool pool = new EndpointPool(Arrays.asList("ws://a", "ws://b"), EndpointSelection.LEAST_LOADED);
+		Assertions.assertEquals(0, pool.acquire(Collections.emptySet()));
+		Assertions.assertEquals(1, pool.acquire(Collections.emptySet()));
+		pool.release(0);
+		Assertions.assertEquals(0, pool.acquire(Collections.emptySet()));
+		Assertions.assertEquals(1, pool.acquire(Collections.singleton(0)));
+		Assertions.assertEquals(-1, pool.acquire(new HashSet<>(Arrays.asList(0, 1))));
+	}
+	
+	@Test
+	void throwIAEIfEndpointsAreEmpty() {
+		Assertions.assertThrowsExactly(IllegalArgumentException.class, 
+				   () -> new EndpointPool(Collections.emptyList(), EndpointSelection.ROUND_ROBIN));
+		Assertions.assertThrowsExactly(NullPointerException.class, 
+				   () -> new EndpointPool(Collections.singletonList(null), EndpointSelection.ROUND_ROBIN));
+	}
+	
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+final class JmxPlaywrightThreadMetricsTest {
+	
+	@Test
+	void testMetricsAreRecorded() throws Throwable {
+		JmxPlaywrightThreadMetrics metrics = JmxPlaywrightThreadMetrics.register("test");
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setMetrics(metrics);
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Assertions.assertTrue(executor.awaitReady(1, TimeUnit.MINUTES));
+		
+		Thread thread = executor.submit(() -> ((PlaywrightThread)(Thread.currentThread())).chromium().version() != null ? Thread.currentThread() : null).get();
+		Assertions.assertThrows(Exception.class, () -> executor.submit(() -> { throw new IllegalStateException(); }).get());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		thread.join();  // the browsers are closed after the executor terminates
+		
+		Assertions.assertEquals(1, metrics.getInitCount());
+		Assertions.assertEquals(0, metrics.getInitFailureCount());
+		Assertions.assertEquals(1L, metrics.getLaunchCounts().get("chromium"));
+		Assertions.assertEquals(0L, metrics.getLiveBrowsers().get("chromium"));
+		Assertions.assertEquals(0, metrics.getActiveThreads());
+		Assertions.assertEquals(2, metrics.getTaskCount());
+		Assertions.assertEquals(1, metrics.getTaskFailureCount());
+		Assertions.assertTrue(metrics.getInitLatencyMeanMillis() > 0);
+		
+		ObjectName name = new ObjectName("io.github.dennisochulor.playwright_java_multithread:type=PlaywrightThreadMetrics,name=\"test\"");
+		Assertions.assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TaskCount"));
+		metrics.unregister();
+		Assertions.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.Playwright;
+
+final class LaunchPolicyTest {
+	
+	@Test
+	void testLaunchesAreLimitedAndRetried() throws Throwable {
+		AtomicInteger attempts = new AtomicInteger();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		LaunchPolicy policy = new LaunchPolicy().setMaxConcurrentLaunches(1).setMaxRetries(1).setRetryBackoff(Duration.ofMillis(100));
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setDeferredInit(true).setLaunchPolicy(policy);
+		
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(3, PlaywrightThreadFactory.ofSupplier(() -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				if(attempts.incrementAndGet() == 1) throw new IllegalStateException("launch timed out");
+				Playwright playwright = Playwright.create();
+				return new PlaywrightThreadInitPackage(playwright, playwright.chromium().launch(), null, null);
+			}
+			finally {
+				running.decrementAndGet();
+			}
+		}, options));
+		
+		Assertions.assertTrue(executor.awaitReady(2, TimeUnit.MINUTES));
+		Assertions.assertEquals(4, attempts.get());
+		Assertions.assertEquals(1, maxRunning.get());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testBackoffDoublesUpToMaximum() {
+		LaunchPolicy policy = new LaunchPolicy().setRetryBackoff(Duration.ofSeconds(1));
+		Assertions.assertEquals(TimeUnit.SECONDS.toNanos(1), policy.backoffNanos(1));
+		Assertions.assertEquals(TimeUnit.SECONDS.toNanos(4), policy.backoffNanos(3));
+		Assertions.assertEquals(TimeUnit.MINUTES.toNanos(5), policy.backoffNanos(10));
+		Assertions.assertEquals(TimeUnit.MINUTES.toNanos(5), policy.backoffNanos(Integer.MAX_VALUE));
+		
+		policy.setRetryBackoff(Duration.ofHours(1));  // longer than the maximum, so it does not grow
+		Assertions.assertEquals(TimeUnit.HOURS.toNanos(1), policy.backoffNanos(1));
+		Assertions.assertEquals(TimeUnit.HOURS.toNanos(1), policy.backoffNanos(40));
+		
+		policy.setRetryBackoff(Duration.ofSeconds(Long.MAX_VALUE));
+		Assertions.assertEquals(Long.MAX_VALUE, policy.backoffNanos(2));
+		
+		policy.setRetryBackoff(Duration.ZERO);
+		Assertions.assertEquals(0, policy.backoffNanos(Integer.MAX_VALUE));
+	}
+
+}
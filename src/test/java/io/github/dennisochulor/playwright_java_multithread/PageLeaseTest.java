@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+final class PageLeaseTest {
+	
+	@Test
+	void testPooledPageIsReusedWithoutListeners() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setPagePoolSize(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			AtomicInteger requests = new AtomicInteger();
+			BrowserContext context;
+			try(PageLease lease = t.leasePage(t.chromium())) {
+				context = lease.page().context();
+				lease.page().onRequest(request -> requests.incrementAndGet());
+				lease.page().navigate("data:text/html,<p>first</p>");
+			}
+			int counted = requests.get();
+			try(PageLease lease = t.leasePage(t.chromium())) {
+				Assertions.assertEquals(1, context.pages().size());
+				Assertions.assertEquals("about:blank", lease.page().url());
+				lease.page().navigate("data:text/html,<p>second</p>");
+			}
+			Assertions.assertEquals(counted, requests.get());
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testPageWithExposedFunctionIsNotReused() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setPagePoolSize(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			BrowserContext context;
+			try(PageLease lease = t.leasePage(t.chromium())) {
+				context = lease.page().context();
+				lease.page().exposeFunction("report", args -> null);
+			}
+			Assertions.assertTrue(context.pages().isEmpty());
+			try(PageLease lease = t.leasePage(t.chromium())) {
+				lease.page().exposeFunction("report", args -> null);  // would throw on a reused page
+			}
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testPagesOpenedDuringLeaseAreClosed() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setPagePoolSize(2);
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			BrowserContext context;
+			try(PageLease other = t.leasePage(t.chromium())) {
+				try(PageLease lease = t.leasePage(t.chromium())) {
+					context = lease.page().context();
+					context.newPage();
+					lease.page().setContent("<a href='about:blank' target='_blank'>popup</a>");
+					lease.page().waitForPopup(() -> lease.page().click("a"));
+					Assertions.assertEquals(4, context.pages().size());
+				}
+				Assertions.assertEquals(2, context.pages().size());  // the idle page and the one still leased
+				Assertions.assertFalse(other.page().isClosed());
+			}
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testPooledPageIsClosedAfterMaxUses() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setPagePoolSize(1).setPageMaxUses(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			PageLease lease = t.leasePage(t.chromium());
+			BrowserContext context = lease.page().context();
+			lease.close();
+			Assertions.assertTrue(context.pages().isEmpty());
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.sun.net.httpserver.HttpServer;
+
+final class PagePipelineTest {
+	
+	@Test
+	void testPagesLoadConcurrently() throws Throwable {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			try {
+				Thread.sleep(1000);  // a slow server
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = ("<title>" + exchange.getRequestURI().getPath().substring(1) + "</title>").getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try(OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+		
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		Map<String, String> titles = new ConcurrentHashMap<>();
+		long elapsed = executor.supply(t -> {
+			try(PagePipeline pipeline = t.pipeline(t.chromium(), 4)) {
+				long start = System.nanoTime();
+				for(int i = 0; i < 8; i++) {
+					String url = base + "page" + i;
+					pipeline.submit(url, page -> titles.put(url, page.title()));
+				}
+				pipeline.drain();
+				Assertions.assertEquals(8, pipeline.completed());
+				return System.nanoTime() - start;
+			}
+		}).get(1, TimeUnit.MINUTES);
+		
+		Assertions.assertEquals(8, titles.size());
+		Assertions.assertEquals("page3", titles.get(base + "page3"));
+		Assertions.assertTrue(elapsed < TimeUnit.SECONDS.toNanos(6), "8 pages of 1s each with 4 in flight should take about 2s");
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		server.stop(0);
+	}
+	
+	@Test
+	void testReusedPagesIgnoreLoadEventsOfPreviousDocuments() throws Throwable {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			byte[] body;
+			if(path.equals("/slow.png")) {
+				try {
+					Thread.sleep(500);  // delays the load event well past DOMContentLoaded
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				body = new byte[0];
+			}
+			else {
+				body = ("<title>" + path.substring(1) + "</title><img src='/slow.png'>").getBytes(StandardCharsets.UTF_8);
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try(OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+		
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		Map<String, String> titles = new ConcurrentHashMap<>();
+		executor.run(t -> {
+			try(PagePipeline pipeline = t.pipeline(t.chromium(), 1).setWaitUntil(WaitUntilState.DOMCONTENTLOADED)) {
+				for(int i = 0; i < 4; i++) {
+					String url = base + "page" + i;
+					pipeline.submit(url, page -> titles.put(url, page.title()));
+				}
+				pipeline.drain();
+			}
+		}).get(1, TimeUnit.MINUTES);
+		
+		for(int i = 0; i < 4; i++) {
+			Assertions.assertEquals("page" + i, titles.get(base + "page" + i));
+		}
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		server.stop(0);
+	}
+	
+	@Test
+	void testClosedPagesAreNotReused() throws Throwable {
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		executor.run(t -> {
+			try(PagePipeline pipeline = t.pipeline(t.chromium(), 1)) {
+				pipeline.submit("data:text/html,<title>first</title>", Page::close);
+				pipeline.submit("data:text/html,<title>second</title>", page -> Assertions.assertEquals("second", page.title()));
+				pipeline.drain();
+				Assertions.assertEquals(2, pipeline.completed());
+				Assertions.assertEquals(0, pipeline.failed());
+			}
+		}).get(1, TimeUnit.MINUTES);
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testFailuresAreReported() throws Throwable {
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		executor.run(t -> {
+			try(PagePipeline pipeline = t.pipeline(t.chromium(), 2)) {
+				pipeline.submit("http://127.0.0.1:1/", page -> Assertions.fail("unreachable"));
+				pipeline.submit("data:text/html,<title>ok</title>", page -> { throw new IllegalStateException("callback failed"); });
+				RuntimeException e = Assertions.assertThrows(RuntimeException.class, pipeline::drain);
+				Assertions.assertInstanceOf(PlaywrightException.class, e);
+				Assertions.assertEquals(1, e.getSuppressed().length);
+				Assertions.assertEquals(2, pipeline.failed());
+			}
+		}).get(1, TimeUnit.MINUTES);
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+
+}
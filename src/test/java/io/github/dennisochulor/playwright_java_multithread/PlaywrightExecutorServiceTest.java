@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright.CreateOptions;
+
+final class PlaywrightExecutorServiceTest {
+	
+	@Test
+	void testAwaitReady() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setDeferredInit(true);
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(2, PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Assertions.assertTrue(executor.awaitReady(1, TimeUnit.MINUTES));
+		Assertions.assertEquals(2, executor.readyThreads());
+		Assertions.assertEquals(2, executor.getPoolSize());
+		Assertions.assertTrue(executor.initFailures().isEmpty());
+		
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertEquals(t.chromium().browserType().name(), "chromium");
+		};
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testSubmitRightAfterConstruction() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setDeferredInit(true);
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(2, PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		// these tasks race the starters to create the core threads
+		CompletableFuture<String> first = executor.supply(t -> t.chromium().browserType().name());
+		CompletableFuture<String> second = executor.supply(t -> t.chromium().browserType().name());
+		Assertions.assertTrue(executor.awaitReady(1, TimeUnit.MINUTES));
+		Assertions.assertEquals(2, executor.readyThreads());
+		Assertions.assertEquals(2, executor.getPoolSize());
+		Assertions.assertTrue(executor.initFailures().isEmpty());
+		Assertions.assertEquals("chromium", first.get(1, TimeUnit.MINUTES));
+		Assertions.assertEquals("chromium", second.get(1, TimeUnit.MINUTES));
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testInitFailuresAreReported() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setDeferredInit(true);
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(2, PlaywrightThreadFactory.ofCustom(FailingPlaywrightThread.class, options));
+		Assertions.assertFalse(executor.awaitReady(1, TimeUnit.MINUTES));
+		Assertions.assertEquals(0, executor.readyThreads());
+		Assertions.assertEquals(2, executor.initFailures().size());
+		
+		Runnable test = () -> ((PlaywrightThread)(Thread.currentThread())).playwright();
+		Assertions.assertThrows(Exception.class, () -> executor.submit(test).get());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testBrowsersAreRecycledAfterMaxTasks() throws Throwable {
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setRecyclePolicy(new RecyclePolicy().setMaxTasks(1));
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Callable<Browser> task = () -> ((PlaywrightThread)(Thread.currentThread())).chromium();
+		
+		Browser first = executor.submit(task).get();
+		Browser second = executor.submit(task).get();
+		Assertions.assertNotSame(first, second);
+		Assertions.assertFalse(first.isConnected());
+		Assertions.assertTrue(second.isConnected());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testIdleThreadsHibernate() throws Throwable {
+		JmxPlaywrightThreadMetrics metrics = JmxPlaywrightThreadMetrics.register("testIdleThreadsHibernate");
+		PlaywrightThreadOptions options = new PlaywrightThreadOptions().setHibernateAfter(Duration.ofMillis(500)).setHibernateDriver(true).setMetrics(metrics);
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(),new LaunchOptions(),options));
+		Callable<Browser> task = () -> ((PlaywrightThread)(Thread.currentThread())).chromium();
+		
+		Browser first = executor.submit(task).get();
+		PlaywrightThread thread = executor.submit(() -> (PlaywrightThread)(Thread.currentThread())).get();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while(!thread.isHibernating() && System.nanoTime() < deadline) {
+			Thread.sleep(100);
+		}
+		Assertions.assertTrue(thread.isHibernating());
+		Assertions.assertFalse(first.isConnected());
+		
+		Browser second = executor.submit(task).get();
+		Assertions.assertFalse(thread.isHibernating());
+		Assertions.assertTrue(second.isConnected());
+		Assertions.assertEquals(1, metrics.getHibernationCount());
+		Assertions.assertEquals(1, metrics.getWakeCount());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		metrics.unregister();
+	}
+	
+	@Test
+	void testSupply() throws Throwable {
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		CompletableFuture<String> name = executor.supply(t -> t.chromium().browserType().name());
+		Assertions.assertEquals("chromium", name.get(1, TimeUnit.MINUTES));
+		
+		CompletableFuture<Void> failing = executor.run(t -> { throw new IllegalStateException("failed"); });
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> failing.get(1, TimeUnit.MINUTES));
+		Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+		
+		Assertions.assertSame(executor.supply(t -> t).get(), executor.supply(t -> PlaywrightThread.current()).get());
+		Assertions.assertThrows(IllegalStateException.class, () -> PlaywrightThread.current());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testShutdownNowCancelsQueuedSupplies() throws Throwable {
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				blocked.await();
+			}
+			catch(InterruptedException e) {
+				// interrupted by shutdownNow
+			}
+		});
+		Assertions.assertTrue(started.await(1, TimeUnit.MINUTES));
+		CompletableFuture<String> queued = executor.supply(t -> "never");
+		
+		Assertions.assertEquals(1, executor.shutdownNow().size());
+		Assertions.assertThrows(CancellationException.class, () -> queued.get(1, TimeUnit.MINUTES));
+		Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+	}
+	
+	@Test
+	void testTerminateKillsHungThreads() throws Throwable {
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(), 
+				new LaunchOptions(), new PlaywrightThreadOptions().setCloseTimeout(Duration.ofSeconds(5))));
+		CountDownLatch hung = new CountDownLatch(1);
+		CompletableFuture<Object> task = executor.supply(t -> {
+			Page page = t.chromium().newPage();
+			hung.countDown();
+			return page.evaluate("() => new Promise(() => {})");  // never settles, and interrupts do not help
+		});
+		Assertions.assertTrue(hung.await(1, TimeUnit.MINUTES));
+		
+		long start = System.nanoTime();
+		Assertions.assertTrue(executor.terminate(2, TimeUnit.SECONDS));
+		Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+		Assertions.assertTrue(task.isCompletedExceptionally());
+	}
+	
+	@Test
+	void testHungTaskTimesOut() throws Throwable {
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(), 
+				new LaunchOptions(), new PlaywrightThreadOptions().setTaskTimeout(Duration.ofSeconds(1))));
+		CompletableFuture<Object> hung = executor.supply(t -> t.chromium().newPage().evaluate("() => new Promise(() => {})"));
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> hung.get(10, TimeUnit.SECONDS));
+		Assertions.assertInstanceOf(TimeoutException.class, e.getCause());
+		
+		// the thread is unblocked by killing its browser, which is relaunched for the next task
+		Object result = executor.supply(t -> t.chromium().newPage().evaluate("1 + 1")).get(1, TimeUnit.MINUTES);
+		Assertions.assertEquals(2, result);
+		Assertions.assertEquals(1, executor.supply(PlaywrightThread::browserRelaunches).get());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	static final class FailingPlaywrightThread extends PlaywrightThread {
+
+		public FailingPlaywrightThread(Runnable r) {
+			super(r);
+		}
+
+		@Override
+		protected PlaywrightThreadInitPackage init() {
+			throw new IllegalStateException("init failed");
+		}
+		
+	}
+	
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.microsoft.playwright.impl.driver.Driver;
+
+final class RemotePlaywrightThreadTest {
+	
+	private static Process server;
+	private static String wsEndpoint;
+	
+	@BeforeAll
+	static void startServer() throws IOException {
+		int port;
+		try(ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		ProcessBuilder pb = Driver.ensureDriverInstalled(Collections.emptyMap(), false).createProcessBuilder();
+		pb.command().addAll(Arrays.asList("run-server", "--host", "127.0.0.1", "--port", String.valueOf(port)));
+		pb.redirectErrorStream(true);
+		server = pb.start();
+		BufferedReader output = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+		String line;
+		while((line = output.readLine()) != null && !line.contains("ws://")) {}  // "Listening on ws://127.0.0.1:<port>/"
+		Assertions.assertNotNull(line, "The browser server did not start.");
+		wsEndpoint = line.substring(line.indexOf("ws://")).trim();
+	}
+	
+	@AfterAll
+	static void stopServer() throws InterruptedException {
+		server.destroy();
+		server.waitFor(30, TimeUnit.SECONDS);
+	}
+	
+	@Test
+	void testRemoteChromiumPlaywrightThread() throws Throwable {
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromiumRemote(Collections.singletonList(wsEndpoint), EndpointSelection.ROUND_ROBIN));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Browser chromium = t.chromium();
+			Assertions.assertTrue(chromium.isConnected());
+			Assertions.assertEquals(chromium.browserType().name(), "chromium");
+			Assertions.assertThrowsExactly(NullPointerException.class, () -> t.firefox());
+			Page page = chromium.newPage();
+			page.setContent("<p>remote</p>");
+			Assertions.assertEquals("remote", page.textContent("p"));
+			page.close();
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testUnreachableEndpointIsSkipped() throws Throwable {
+		int port;
+		try(ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();  // nothing listens here once the socket is closed
+		}
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromiumRemote(
+				Arrays.asList("ws://127.0.0.1:" + port + "/", wsEndpoint), EndpointSelection.ROUND_ROBIN));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertTrue(t.chromium().isConnected());
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testRemoteThreadsSkipBrowserDownload() throws Throwable {
+		Path noBrowsers = Files.createTempDirectory("no-browsers");  // a local Playwright would have to install the browsers here
+		CreateOptions createOptions = new CreateOptions().setEnv(Collections.singletonMap("PLAYWRIGHT_BROWSERS_PATH", noBrowsers.toString()));
+		ExecutorService executor = Executors.newSingleThreadExecutor(PlaywrightThreadFactory.ofChromiumRemote(
+				createOptions, Collections.singletonList(wsEndpoint), EndpointSelection.LEAST_LOADED, new PlaywrightThreadOptions()));
+		Runnable test = () -> {
+			PlaywrightThread t = (PlaywrightThread)(Thread.currentThread());
+			Assertions.assertTrue(t.chromium().isConnected());
+		};
+		
+		executor.submit(test).get();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		try(Stream<Path> installed = Files.list(noBrowsers)) {
+			Assertions.assertFalse(installed.findAny().isPresent());
+		}
+		Assertions.assertNull(createOptions.env.get(InstallCheck.SKIP_BROWSER_DOWNLOAD));  // the options of the caller are left untouched
+	}
+	
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.sun.net.httpserver.HttpServer;
+
+final class StaticAssetCacheTest {
+	
+	@Test
+	void testAssetsAreSharedByThreads() throws Throwable {
+		Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+			byte[] body;
+			if(path.equals("/")) {
+				body = "<script src='/app.js'></script><script src='/nocache.js'></script><script src='/cookie.js'></script>".getBytes(StandardCharsets.UTF_8);
+			}
+			else {
+				body = "window.loaded = true;".getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", "application/javascript");
+				exchange.getResponseHeaders().set("Cache-Control", path.equals("/nocache.js") ? "no-store" : "public, max-age=3600");
+				if(path.equals("/cookie.js")) exchange.getResponseHeaders().set("Set-Cookie", "session=secret");
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try(OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+		
+		StaticAssetCache cache = new StaticAssetCache(1024 * 1024);
+		for(int i = 0; i < 2; i++) {
+			PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(), 
+					new LaunchOptions(), new PlaywrightThreadOptions().setAssetCache(cache)));
+			Object loaded = executor.supply(t -> {
+				try(BrowserContextLease lease = t.leaseContext(t.chromium())) {
+					Page page = lease.context().newPage();
+					page.navigate(base);
+					return page.evaluate("window.loaded");
+				}
+			}).get(1, TimeUnit.MINUTES);
+			Assertions.assertEquals(Boolean.TRUE, loaded);
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		
+		Assertions.assertEquals(1, requests.get("/app.js").get());
+		Assertions.assertEquals(2, requests.get("/nocache.js").get());
+		Assertions.assertEquals(2, requests.get("/cookie.js").get());
+		Assertions.assertEquals(1, cache.hits());
+		Assertions.assertTrue(cache.size() > 0);
+		server.stop(0);
+	}
+	
+	@Test
+	void testFreshness() {
+		long now = System.currentTimeMillis();
+		Assertions.assertEquals(60_000, StaticAssetCache.freshness(headers("cache-control", "max-age=60"), now));
+		Assertions.assertEquals(50_000, StaticAssetCache.freshness(headers("cache-control", "max-age=60", "age", "10"), now));
+		Assertions.assertEquals(120_000, StaticAssetCache.freshness(headers("cache-control", "max-age=60, s-maxage=120"), now));
+		Assertions.assertEquals(0, StaticAssetCache.freshness(headers("cache-control", "private, max-age=60"), now));
+		Assertions.assertEquals(0, StaticAssetCache.freshness(headers("cache-control", "max-age=60", "vary", "Cookie"), now));
+		Assertions.assertEquals(0, StaticAssetCache.freshness(headers("cache-control", "max-age=60", "set-cookie", "a=b"), now));
+		Assertions.assertEquals(0, StaticAssetCache.freshness(headers("expires", "0"), now));
+		Assertions.assertEquals(0, StaticAssetCache.freshness(Collections.<String, String>emptyMap(), now));
+	}
+	
+	private static Map<String, String> headers(String... namesAndValues) {
+		Map<String, String> headers = new HashMap<>();
+		for(int i = 0; i < namesAndValues.length; i += 2) {
+			headers.put(namesAndValues[i], namesAndValues[i + 1]);
+		}
+		return headers;
+	}
+
+}
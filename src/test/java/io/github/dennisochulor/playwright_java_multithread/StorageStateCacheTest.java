@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.Cookie;
+
+final class StorageStateCacheTest {
+	
+	@Test
+	void testSessionIsLoggedInOnce() throws Throwable {
+		AtomicInteger logins = new AtomicInteger();
+		StorageStateCache sessions = new StorageStateCache((context, user) -> {
+			logins.incrementAndGet();
+			context.addCookies(Collections.singletonList(new Cookie("user", user).setUrl("https://example.com")));
+		});
+		
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(4, PlaywrightThreadFactory.ofChromium());
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		for(int i = 0; i < 8; i++) {
+			futures.add(executor.supply(t -> {
+				try(BrowserContext context = sessions.newContext(t.chromium(), "alice")) {
+					return context.cookies().get(0).value;
+				}
+			}));
+		}
+		for(CompletableFuture<String> future : futures) {
+			Assertions.assertEquals("alice", future.get(1, TimeUnit.MINUTES));
+		}
+		Assertions.assertEquals(1, logins.get());
+		
+		// two tasks detecting the same logout only cause one more login
+		executor.run(t -> {
+			BrowserContext first = sessions.newContext(t.chromium(), "alice");
+			BrowserContext second = sessions.newContext(t.chromium(), "alice");
+			sessions.invalidate("alice", first);
+			sessions.newContext(t.chromium(), "alice").close();
+			sessions.invalidate("alice", second);
+			sessions.newContext(t.chromium(), "alice").close();
+			first.close();
+			second.close();
+		}).get(1, TimeUnit.MINUTES);
+		Assertions.assertEquals(2, logins.get());
+		
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+	
+	@Test
+	void testFailedLoginIsRetried() throws Throwable {
+		AtomicInteger logins = new AtomicInteger();
+		StorageStateCache sessions = new StorageStateCache((context, user) -> {
+			if(logins.incrementAndGet() == 1) throw new IllegalStateException("wrong password");
+		});
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium());
+		executor.run(t -> {
+			Assertions.assertThrows(IllegalStateException.class, () -> sessions.storageState(t.chromium(), "bob"));
+			Assertions.assertNotNull(sessions.storageState(t.chromium(), "bob"));
+		}).get(1, TimeUnit.MINUTES);
+		Assertions.assertEquals(2, logins.get());
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Dennis Ochulor
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.dennisochulor.playwright_java_multithread;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright.CreateOptions;
+import com.sun.net.httpserver.HttpServer;
+
+final class ThroughputProfileTest {
+	
+	@Test
+	void testBlockedRequestsNeverReachTheServer() throws Throwable {
+		Set<String> requested = ConcurrentHashMap.newKeySet();
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			requested.add(path);
+			byte[] body = (path.equals("/") ? "<link rel='stylesheet' href='/style.css'><img src='/image.png'><script src='/analytics.js'></script>" : "")
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+			try(OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+		
+		ThroughputProfile profile = ThroughputProfile.lean().setBlockedUrls("analytics\\.js$");
+		PlaywrightExecutorService executor = new PlaywrightExecutorService(1, PlaywrightThreadFactory.ofChromium(new CreateOptions(), 
+				new LaunchOptions(), new PlaywrightThreadOptions().setThroughputProfile(profile)));
+		executor.run(t -> {
+			try(BrowserContextLease lease = t.leaseContext(t.chromium())) {
+				lease.context().newPage().navigate(base);
+			}
+			Page page = t.chromium().newPage();
+			page.navigate(base);
+			page.close();
+		}).get(1, TimeUnit.MINUTES);
+		
+		Assertions.assertEquals(new HashSet<>(Arrays.asList("/", "/style.css")), requested);
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		server.stop(0);
+	}
+	
+	@Test
+	void testAllowedDomains() {
+		List<String> domains = Arrays.asList("example.com");
+		Assertions.assertTrue(ThroughputProfile.isAllowed("https://example.com/", domains));
+		Assertions.assertTrue(ThroughputProfile.isAllowed("https://www.example.com/a.js", domains));
+		Assertions.assertTrue(ThroughputProfile.isAllowed("data:image/png;base64,AAAA", domains));
+		Assertions.assertFalse(ThroughputProfile.isAllowed("https://notexample.com/", domains));
+		Assertions.assertFalse(ThroughputProfile.isAllowed("wss://tracker.net/socket", domains));
+		Assertions.assertFalse(ThroughputProfile.isAllowed("https://tracker.example/px?d={\"a\":1}|^", domains));
+		Assertions.assertTrue(ThroughputProfile.isAllowed("https://user@EXAMPLE.com:8443/?q={x}", domains));
+		Assertions.assertFalse(ThroughputProfile.isAllowed("https://example.com.evil.net/", domains));
+		Assertions.assertFalse(ThroughputProfile.isAllowed("https:///no-host", domains));
+	}
+
+}